@@ -0,0 +1,45 @@
+package com.rvg.benchmark;
+
+import com.rvg.SoftwareEngineer;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Builds deterministic Software Engineer fixtures shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private static final List<List<String>> STACKS = List.of(
+            List.of("Java", "Spring Boot", "Kafka", "AWS", "Kubernetes"),
+            List.of("Python", "Django", "PostgreSQL", "Docker", "Redis"),
+            List.of("JavaScript", "React", "Node.js", "MongoDB", "TypeScript"),
+            List.of("Go", "Kubernetes", "Docker", "Terraform", "AWS"),
+            List.of("C#", ".NET Core", "Azure", "SQL Server", "Microservices")
+    );
+
+    private BenchmarkData() {
+    }
+
+    static List<SoftwareEngineer> engineers(int count, int recommendationLength) {
+        String recommendations = recommendationLength == 0 ? null : recommendations(recommendationLength);
+        return IntStream.range(0, count)
+                .mapToObj(i -> engineer(i, recommendations))
+                .toList();
+    }
+
+    static SoftwareEngineer engineer(int index, String recommendations) {
+        return new SoftwareEngineer(index + 1, "Engineer " + index, STACKS.get(index % STACKS.size()), recommendations);
+    }
+
+    /* Markdown-like text of the given length, close to what the AI returns. */
+    static String recommendations(int length) {
+        String paragraph = "## 🚀 Next Skills to Learn\n1. **Docker & Kubernetes** - Containerization is essential "
+                + "for modern deployments.\n- Free: official documentation\n- Paid: Udemy course\n\n";
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            text.append(paragraph);
+        }
+        return text.substring(0, length);
+    }
+}
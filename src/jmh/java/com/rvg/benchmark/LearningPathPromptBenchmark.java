@@ -0,0 +1,33 @@
+package com.rvg.benchmark;
+
+import com.rvg.ai.LearningPathPrompt;
+import com.rvg.ai.RecommendationCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the work SoftwareEngineerService.save does before calling the AI:
+ * building the prompt and the recommendation cache key for the tech stack.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LearningPathPromptBenchmark {
+
+    private final List<String> techStack = List.of("Java", "Spring Boot", "Kafka", "AWS", "Kubernetes");
+
+    @Benchmark
+    public String buildPrompt() {
+        return LearningPathPrompt.forTechStack(techStack);
+    }
+
+    @Benchmark
+    public String buildCacheKey() {
+        return RecommendationCache.keyFor(techStack);
+    }
+}
@@ -0,0 +1,113 @@
+package com.rvg.benchmark;
+
+import com.rvg.Application;
+import com.rvg.SoftwareEngineer;
+import com.rvg.dto.CursorPage;
+import com.rvg.service.SoftwareEngineerService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures skill searches against PostgreSQL as the table grows, through the service and repository
+ * the search endpoint uses. Engineers get five skills each from a vocabulary of 200 with a skewed
+ * distribution: skill0 is held by about 30% of engineers, skill199 by about 1%.
+ * <p>
+ * Runs against an embedded PostgreSQL unless -Dbenchmark.jdbc-url (with .jdbc-username and .jdbc-password)
+ * names a scratch database; its schema is dropped and recreated. Pass it to the forked JVM with
+ * -jvmArgsAppend, e.g. -Djmh.args="SkillSearch -jvmArgsAppend -Dbenchmark.jdbc-url=jdbc:postgresql://localhost/bench".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SkillSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    /* Generated ids start above the engineers the application loads on startup. */
+    private static final int FIRST_ID = 1_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int engineers;
+
+    private EmbeddedPostgres embedded;
+    private ConfigurableApplicationContext app;
+    private SoftwareEngineerService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String jdbcUrl = System.getProperty("benchmark.jdbc-url", "");
+        String username = System.getProperty("benchmark.jdbc-username", "postgres");
+        String password = System.getProperty("benchmark.jdbc-password", "postgres");
+        if (jdbcUrl.isBlank()) {
+            embedded = EmbeddedPostgres.builder().start();
+            jdbcUrl = embedded.getJdbcUrl("postgres", "postgres");
+        }
+        app = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.ai.openai.api-key=benchmark",
+                        "--logging.level.root=WARN");
+        service = app.getBean(SoftwareEngineerService.class);
+        generate(app.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        app.close();
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+
+    /* Frequent skills: the first page is found within the first few hundred ids. */
+    @Benchmark
+    public CursorPage<SoftwareEngineer> allOfFrequentSkills() {
+        return service.searchBySkills(List.of("Skill0", "Skill1"), null, null, PAGE_SIZE);
+    }
+
+    /* Rare skills: matches are spread over the whole table and found through the GIN index. */
+    @Benchmark
+    public CursorPage<SoftwareEngineer> allOfRareSkills() {
+        return service.searchBySkills(List.of("Skill150", "Skill199"), null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<SoftwareEngineer> anyOfRareSkills() {
+        return service.searchBySkills(null, List.of("Skill197", "Skill198", "Skill199"), null, PAGE_SIZE);
+    }
+
+    /* Keyset pagination: a page in the middle of the table costs the same as the first one. */
+    @Benchmark
+    public CursorPage<SoftwareEngineer> allOfFrequentSkillsMiddlePage() {
+        return service.searchBySkills(List.of("Skill0", "Skill1"), null, FIRST_ID + engineers / 2, PAGE_SIZE);
+    }
+
+    private void generate(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("select setseed(0.42)");
+        jdbcTemplate.update("""
+                insert into software_engineer (id, name, enrichment_status, version, updated_at, skills)
+                select ? + g, 'Engineer ' || g, 'COMPLETED', 0, now(),
+                       array(select distinct 'skill' || floor(power(random(), 2) * 200)::int
+                             from generate_series(1, 5) where g > 0)
+                from generate_series(1, ?) g""", FIRST_ID, engineers);
+        jdbcTemplate.update("""
+                insert into software_engineer_tech_stack (software_engineer_id, position, tech_stack)
+                select e.id, s.ord - 1, initcap(s.skill)
+                from software_engineer e, unnest(e.skills) with ordinality s(skill, ord)
+                where e.id > ?""", FIRST_ID);
+        jdbcTemplate.execute("vacuum analyze software_engineer");
+        jdbcTemplate.execute("vacuum analyze software_engineer_tech_stack");
+    }
+}
@@ -0,0 +1,52 @@
+package com.rvg.benchmark;
+
+import com.rvg.SoftwareEngineer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures SoftwareEngineer.equals and hashCode, which walk the tech stack and the
+ * recommendation text, for engineers with and without recommendations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SoftwareEngineerEqualityBenchmark {
+
+    @Param({"0", "2000"})
+    private int recommendationLength;
+
+    private SoftwareEngineer engineer;
+    private SoftwareEngineer equalEngineer;
+    private List<SoftwareEngineer> engineers;
+
+    @Setup
+    public void setUp() {
+        String recommendations = recommendationLength == 0 ? null : BenchmarkData.recommendations(recommendationLength);
+        engineer = BenchmarkData.engineer(0, recommendations);
+        equalEngineer = BenchmarkData.engineer(0, recommendationLength == 0 ? null : new String(recommendations));
+        engineers = BenchmarkData.engineers(100, recommendationLength);
+    }
+
+    @Benchmark
+    public boolean equalsEqualEngineer() {
+        return engineer.equals(equalEngineer);
+    }
+
+    @Benchmark
+    public int hashCodeEngineer() {
+        return engineer.hashCode();
+    }
+
+    @Benchmark
+    public Set<SoftwareEngineer> hashSetOf100() {
+        return new HashSet<>(engineers);
+    }
+}
@@ -0,0 +1,36 @@
+package com.rvg.benchmark;
+
+import com.rvg.SoftwareEngineer;
+import com.rvg.dto.SoftwareEngineerDTO;
+import com.rvg.dto.SoftwareEngineerMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures SoftwareEngineerMapper.toDTOList for page-sized and export-sized lists.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SoftwareEngineerMapperBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int engineers;
+
+    private List<SoftwareEngineer> entities;
+
+    @Setup
+    public void setUp() {
+        entities = BenchmarkData.engineers(engineers, 2_000);
+    }
+
+    @Benchmark
+    public List<SoftwareEngineerDTO> toDTOList() {
+        return SoftwareEngineerMapper.toDTOList(entities);
+    }
+}
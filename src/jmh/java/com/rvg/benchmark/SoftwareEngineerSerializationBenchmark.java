@@ -0,0 +1,59 @@
+package com.rvg.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rvg.dto.SoftwareEngineerDTO;
+import com.rvg.dto.SoftwareEngineerMapper;
+import com.rvg.dto.SoftwareEngineerSummaryDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson serialization of a page of engineers, with recommendation texts of different
+ * sizes (0 meaning none) against the summary view that leaves them out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SoftwareEngineerSerializationBenchmark {
+
+    @Param({"100"})
+    private int engineers;
+
+    @Param({"0", "2000", "20000"})
+    private int recommendationLength;
+
+    private ObjectWriter fullWriter;
+    private ObjectWriter summaryWriter;
+    private List<SoftwareEngineerDTO> dtos;
+    private List<SoftwareEngineerSummaryDTO> summaries;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        fullWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, SoftwareEngineerDTO.class));
+        summaryWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, SoftwareEngineerSummaryDTO.class));
+        dtos = SoftwareEngineerMapper.toDTOList(BenchmarkData.engineers(engineers, recommendationLength));
+        summaries = BenchmarkData.engineers(engineers, recommendationLength).stream()
+                .map(SoftwareEngineerMapper::toSummaryDTO)
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] fullView() throws JsonProcessingException {
+        return fullWriter.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] summaryView() throws JsonProcessingException {
+        return summaryWriter.writeValueAsBytes(summaries);
+    }
+}
@@ -0,0 +1,66 @@
+package com.rvg.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Latency histogram and outcome counters of one endpoint.
+ * Latencies are recorded in microseconds with three significant digits, up to one minute.
+ */
+final class EndpointStats {
+
+    private final String endpoint;
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void record(long latencyNanos, boolean success) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), latencies.getHighestTrackableValue()));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    long count() {
+        return latencies.getTotalCount();
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Summarizes the recorded window.
+     *
+     * @param seconds Length of the recorded window, used for the achieved rate.
+     * @return Counts, achieved rate and latency percentiles in milliseconds.
+     */
+    Map<String, Object> summary(double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoint", endpoint);
+        summary.put("count", count());
+        summary.put("errors", errors.sum());
+        summary.put("rps", round(count() / seconds));
+        summary.put("p50Ms", millis(latencies.getValueAtPercentile(50)));
+        summary.put("p95Ms", millis(latencies.getValueAtPercentile(95)));
+        summary.put("p99Ms", millis(latencies.getValueAtPercentile(99)));
+        summary.put("maxMs", millis(latencies.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,327 @@
+package com.rvg.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rvg.Application;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load test of the Software Engineer API.
+ * Boots the application against a fresh Postgres and a stub LLM, seeds engineers, then sends
+ * the configured request mix at a fixed rate and reports p50/p95/p99 latency per endpoint.
+ * Requests are scheduled on a fixed timeline and their latency is measured from the scheduled
+ * start, so a slow server is charged for the requests it delayed (no coordinated omission).
+ * Run with {@code mvn -P loadtest verify}; settings are described in {@link LoadTestSettings}.
+ */
+public final class LoadTest {
+
+    private static final String BASE_PATH = "/api/v1/software-engineers";
+    private static final List<List<String>> TECH_STACKS = List.of(
+            List.of("Java", "Spring Boot", "PostgreSQL"),
+            List.of("Python", "Django", "Redis"),
+            List.of("Go", "Kubernetes", "Terraform"),
+            List.of("TypeScript", "React", "Node.js"));
+
+    private final LoadTestSettings settings;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final IdPool ids = new IdPool();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private String baseUrl;
+
+    private LoadTest(LoadTestSettings settings) {
+        this.settings = settings;
+        settings.mix().keySet().forEach(operation -> stats.put(operation, new EndpointStats(operation.getEndpoint())));
+    }
+
+    public static void main(String[] args) throws Exception {
+        int status = 0;
+        try {
+            new LoadTest(LoadTestSettings.fromSystemProperties()).run();
+        } catch (Exception e) {
+            e.printStackTrace();
+            status = 1;
+        }
+        System.exit(status);
+    }
+
+    private void run() throws Exception {
+        try (StubOpenAiServer stub = StubOpenAiServer.start(settings.stubLatency(), settings.stubJitter(), settings.stubFailureRate());
+             Database database = Database.start(settings);
+             ConfigurableApplicationContext app = startApplication(stub, database)) {
+            baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port") + BASE_PATH;
+            seed();
+
+            System.out.printf("Warming up for %s, then measuring for %s at %d requests/s%n",
+                    settings.warmup(), settings.duration(), settings.rps());
+            long elapsedNanos = drive();
+
+            double seconds = elapsedNanos / 1e9;
+            Map<String, Object> report = report(seconds, stub);
+            print(report);
+            write(report);
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication(StubOpenAiServer stub, Database database) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + database.jdbcUrl(),
+                "--spring.datasource.username=" + database.username(),
+                "--spring.datasource.password=" + database.password(),
+                "--spring.ai.openai.base-url=" + stub.baseUrl(),
+                "--spring.ai.openai.api-key=stub",
+                "--spring.jpa.show-sql=false"));
+        args.addAll(settings.appArgs());
+        return new SpringApplicationBuilder(Application.class).run(args.toArray(String[]::new));
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        List<Map<String, Object>> engineers = new ArrayList<>(settings.seedEngineers());
+        for (int i = 0; i < settings.seedEngineers(); i++) {
+            engineers.add(engineer());
+        }
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/bulk?enrich=false"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(engineers)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+        }
+        for (JsonNode item : objectMapper.readTree(response.body()).path("items")) {
+            if (item.hasNonNull("id")) {
+                ids.add(item.get("id").asInt());
+            }
+        }
+        System.out.printf("Seeded %d engineers%n", ids.size());
+    }
+
+    /**
+     * Sends requests on a fixed schedule for warm-up plus measurement, recording only the
+     * requests scheduled inside the measurement window.
+     *
+     * @return Length of the measurement window in nanoseconds.
+     */
+    private long drive() throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rps();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long wait;
+                while ((wait = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = pick();
+                boolean measured = intended >= measureFrom;
+                executor.execute(() -> send(operation, intended, measured));
+            }
+        }
+        return end - measureFrom;
+    }
+
+    private Operation pick() {
+        int total = settings.mix().values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : settings.mix().entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private void send(Operation operation, long intended, boolean measured) {
+        boolean success;
+        try {
+            success = switch (operation) {
+                case LIST -> exchange(get(baseUrl + "?limit=20")).statusCode() == 200;
+                case GET -> ids.pick()
+                        .map(id -> exchange(get(baseUrl + "/" + id)).statusCode() == 200)
+                        .orElse(false);
+                case CREATE -> {
+                    HttpResponse<String> response = exchange(json(baseUrl, "POST", engineer()));
+                    if (response.statusCode() == 201 || response.statusCode() == 202) {
+                        ids.add(objectMapper.readTree(response.body()).path("id").asInt());
+                        yield true;
+                    }
+                    yield false;
+                }
+                case UPDATE -> ids.pick()
+                        .map(id -> exchange(json(baseUrl + "/" + id, "PUT", engineer())).statusCode() == 200)
+                        .orElse(false);
+                case DELETE -> ids.take()
+                        .map(id -> exchange(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).DELETE().build())
+                                .statusCode() == 204)
+                        .orElse(false);
+            };
+        } catch (Exception e) {
+            success = false;
+        }
+        if (measured) {
+            stats.get(operation).record(System.nanoTime() - intended, success);
+        }
+    }
+
+    private HttpResponse<String> exchange(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60)).GET().build();
+    }
+
+    private HttpRequest json(String url, String method, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<String, Object> engineer() {
+        int n = sequence.incrementAndGet();
+        Map<String, Object> engineer = new LinkedHashMap<>();
+        engineer.put("name", "Load Test Engineer " + n);
+        // A unique skill per payload keeps creates from being answered by the learning path cache.
+        List<String> techStack = new ArrayList<>(TECH_STACKS.get(n % TECH_STACKS.size()));
+        techStack.add("Skill " + n);
+        engineer.put("techStack", techStack);
+        return engineer;
+    }
+
+    private Map<String, Object> report(double seconds, StubOpenAiServer stub) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("targetRps", settings.rps());
+        report.put("durationSeconds", seconds);
+        report.put("stubLatencyMs", settings.stubLatency().toMillis());
+        report.put("stubJitterMs", settings.stubJitter().toMillis());
+        report.put("stubFailureRate", settings.stubFailureRate());
+        report.put("stubCalls", stub.calls());
+        report.put("stubFailures", stub.failures());
+        report.put("endpoints", stats.values().stream().map(endpoint -> endpoint.summary(seconds)).toList());
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> report) {
+        System.out.printf("%n%-40s %8s %7s %8s %9s %9s %9s %9s%n",
+                "Endpoint", "Count", "Errors", "RPS", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Map<String, Object> row : (List<Map<String, Object>>) report.get("endpoints")) {
+            System.out.printf("%-40s %8d %7d %8.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.get("endpoint"), row.get("count"), row.get("errors"), row.get("rps"),
+                    row.get("p50Ms"), row.get("p95Ms"), row.get("p99Ms"), row.get("maxMs"));
+        }
+        System.out.printf("Stub LLM calls: %d (%d failed)%n%n", report.get("stubCalls"), report.get("stubFailures"));
+    }
+
+    private void write(Map<String, Object> report) throws IOException {
+        File file = new File(settings.report());
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Report written to " + file.getAbsolutePath());
+    }
+
+    /*
+     * Ids of engineers known to exist. Deletes take an id out so later requests do not target it.
+     */
+    private static final class IdPool {
+
+        private final List<Integer> ids = new ArrayList<>();
+
+        synchronized void add(int id) {
+            ids.add(id);
+        }
+
+        synchronized int size() {
+            return ids.size();
+        }
+
+        synchronized Optional<Integer> pick() {
+            return ids.isEmpty()
+                    ? Optional.empty()
+                    : Optional.of(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+        }
+
+        synchronized Optional<Integer> take() {
+            if (ids.isEmpty()) {
+                return Optional.empty();
+            }
+            int index = ThreadLocalRandom.current().nextInt(ids.size());
+            int last = ids.size() - 1;
+            Integer id = ids.get(index);
+            ids.set(index, ids.get(last));
+            ids.remove(last);
+            return Optional.of(id);
+        }
+    }
+
+    /*
+     * Database the application runs against: an embedded Postgres, or the one named by loadtest.jdbc-url.
+     */
+    private record Database(String jdbcUrl, String username, String password, EmbeddedPostgres embedded)
+            implements AutoCloseable {
+
+        static Database start(LoadTestSettings settings) throws IOException {
+            if (!settings.jdbcUrl().isBlank()) {
+                return new Database(settings.jdbcUrl(), settings.jdbcUsername(), settings.jdbcPassword(), null);
+            }
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            return new Database(postgres.getJdbcUrl("postgres", "postgres"), "postgres", "postgres", postgres);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.rvg.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test settings, read from loadtest.* system properties.
+ * See the loadtest profile in pom.xml for the defaults used by Maven.
+ *
+ * @param rps             Target requests per second, across all endpoints.
+ * @param warmup          Time spent sending traffic before latencies are recorded.
+ * @param duration        Time during which latencies are recorded.
+ * @param mix             Relative weight of each operation, e.g. list:40,get:30.
+ * @param seedEngineers   Number of engineers bulk-imported before the run.
+ * @param stubLatency     Base latency of the stub LLM.
+ * @param stubJitter      Maximum random latency added on top of stubLatency.
+ * @param stubFailureRate Fraction of stub LLM calls answered with 503.
+ * @param jdbcUrl         JDBC URL of an existing database, or blank to start an embedded Postgres.
+ * @param jdbcUsername    Username for jdbcUrl.
+ * @param jdbcPassword    Password for jdbcUrl.
+ * @param appArgs         Extra --key=value arguments passed to the application.
+ * @param report          Path of the JSON report.
+ */
+record LoadTestSettings(
+        int rps,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        int seedEngineers,
+        Duration stubLatency,
+        Duration stubJitter,
+        double stubFailureRate,
+        String jdbcUrl,
+        String jdbcUsername,
+        String jdbcPassword,
+        List<String> appArgs,
+        String report
+) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.parseInt(property("rps", "50")),
+                duration("warmup", "10s"),
+                duration("duration", "60s"),
+                mix(property("mix", "list:40,get:30,create:10,update:12,delete:8")),
+                Integer.parseInt(property("seed-engineers", "1000")),
+                duration("stub.latency", "300ms"),
+                duration("stub.jitter", "200ms"),
+                Double.parseDouble(property("stub.failure-rate", "0.0")),
+                property("jdbc-url", ""),
+                property("jdbc-username", "postgres"),
+                property("jdbc-password", "postgres"),
+                Arrays.stream(property("app-args", "").split("\\s+")).filter(arg -> !arg.isBlank()).toList(),
+                property("report", "target/loadtest-report.json"));
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static Duration duration(String name, String defaultValue) {
+        return DurationStyle.detectAndParse(property(name, defaultValue));
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            mix.put(Operation.from(parts[0]), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,28 @@
+package com.rvg.loadtest;
+
+import java.util.Locale;
+
+/*
+ * Operations the load generator mixes, each reported as its own endpoint.
+ */
+enum Operation {
+    LIST("GET /api/v1/software-engineers"),
+    GET("GET /api/v1/software-engineers/{id}"),
+    CREATE("POST /api/v1/software-engineers"),
+    UPDATE("PUT /api/v1/software-engineers/{id}"),
+    DELETE("DELETE /api/v1/software-engineers/{id}");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    static Operation from(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,161 @@
+package com.rvg.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal OpenAI-compatible chat completions server for load tests.
+ * Every call waits latency plus a random share of jitter, then fails with 503 at the configured
+ * rate or answers with a fixed learning path, as one JSON body or as Server-Sent Events when
+ * the request asks to stream. GET /v1/models always succeeds, for the AI health check.
+ */
+final class StubOpenAiServer implements AutoCloseable {
+
+    private static final List<String> CHUNKS = List.of(
+            "## 🚀 Next Skills to Learn (Top 3)\n\n",
+            "1. **Docker & Kubernetes** - Containerization for modern deployments\n",
+            "2. **Apache Kafka** - Event-driven architecture\n",
+            "3. **Terraform** - Infrastructure as code\n\n",
+            "## 🛠️ Portfolio Projects\n1. **Beginner:** Containerize a REST API\n");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final Duration latency;
+    private final Duration jitter;
+    private final double failureRate;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private StubOpenAiServer(Duration latency, Duration jitter, double failureRate) throws IOException {
+        this.latency = latency;
+        this.jitter = jitter;
+        this.failureRate = failureRate;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/v1/chat/completions", this::handle);
+        this.server.createContext("/v1/models", exchange -> {
+            try (exchange) {
+                send(exchange, 200, "application/json", "{\"object\":\"list\",\"data\":[{\"id\":\"stub\",\"object\":\"model\"}]}");
+            }
+        });
+    }
+
+    static StubOpenAiServer start(Duration latency, Duration jitter, double failureRate) throws IOException {
+        StubOpenAiServer stub = new StubOpenAiServer(latency, jitter, failureRate);
+        stub.server.start();
+        return stub;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long calls() {
+        return calls.get();
+    }
+
+    long failures() {
+        return failures.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                request = objectMapper.readTree(body);
+            }
+            calls.incrementAndGet();
+            long delayNanos = latency.toNanos() + (jitter.isZero() ? 0 : ThreadLocalRandom.current().nextLong(jitter.toNanos()));
+            if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                failures.incrementAndGet();
+                sleep(delayNanos);
+                send(exchange, 503, "application/json", "{\"error\":{\"message\":\"stub overloaded\"}}");
+                return;
+            }
+            if (request.path("stream").asBoolean(false)) {
+                stream(exchange, delayNanos);
+            } else {
+                sleep(delayNanos);
+                send(exchange, 200, "application/json", objectMapper.writeValueAsString(completion()));
+            }
+        }
+    }
+
+    private void stream(HttpExchange exchange, long delayNanos) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        for (String chunk : CHUNKS) {
+            sleep(delayNanos / CHUNKS.size());
+            writeEvent(out, objectMapper.writeValueAsString(chunk(Map.of("content", chunk), null)));
+        }
+        writeEvent(out, objectMapper.writeValueAsString(chunk(Map.of(), "stop")));
+        writeEvent(out, "[DONE]");
+    }
+
+    private Map<String, Object> completion() {
+        return Map.of(
+                "id", "chatcmpl-stub",
+                "object", "chat.completion",
+                "created", System.currentTimeMillis() / 1000,
+                "model", "stub",
+                "choices", List.of(Map.of(
+                        "index", 0,
+                        "message", Map.of("role", "assistant", "content", String.join("", CHUNKS)),
+                        "finish_reason", "stop")),
+                "usage", Map.of("prompt_tokens", 180, "completion_tokens", 90, "total_tokens", 270));
+    }
+
+    private static Map<String, Object> chunk(Map<String, String> delta, String finishReason) {
+        Map<String, Object> choice = new HashMap<>();
+        choice.put("index", 0);
+        choice.put("delta", delta);
+        choice.put("finish_reason", finishReason);
+        return Map.of(
+                "id", "chatcmpl-stub",
+                "object", "chat.completion.chunk",
+                "created", System.currentTimeMillis() / 1000,
+                "model", "stub",
+                "choices", List.of(choice));
+    }
+
+    private static void writeEvent(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
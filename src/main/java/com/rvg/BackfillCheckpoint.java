@@ -0,0 +1,36 @@
+package com.rvg;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/*
+ * BackfillCheckpoint records how far a background backfill job has scanned, by engineer ID,
+ * so a restarted node resumes the current pass instead of starting over.
+ */
+@Entity
+@Table(name = "backfill_checkpoint")
+public class BackfillCheckpoint {
+
+    @Id
+    private String job;
+    private int lastId;
+    private Instant updatedAt;
+
+    public BackfillCheckpoint() {
+    }
+
+    public String getJob() {
+        return job;
+    }
+
+    public int getLastId() {
+        return lastId;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
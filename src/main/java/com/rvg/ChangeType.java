@@ -0,0 +1,10 @@
+package com.rvg;
+
+/*
+ * Kind of change recorded in the engineer change outbox.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,70 @@
+package com.rvg;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/*
+ * EngineerChange is an outbox entry: one per committed write to a SoftwareEngineer, inserted in the same
+ * transaction as the write. It only says which engineer changed and how; consumers read the engineer itself.
+ * The position is assigned by ChangeEventRelay when it publishes the change, in publication order.
+ */
+@Entity
+@Table(name = "engineer_change")
+public class EngineerChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "engineer_change_seq")
+    @SequenceGenerator(name = "engineer_change_seq", sequenceName = "engineer_change_seq", allocationSize = 50)
+    private Long id;
+    private Integer engineerId;
+    @Enumerated(EnumType.STRING)
+    private ChangeType type;
+    private Instant occurredAt;
+    private Long position;
+    private Instant publishedAt;
+
+    public EngineerChange() {
+    }
+
+    public EngineerChange(Integer engineerId, ChangeType type, Instant occurredAt) {
+        this.engineerId = engineerId;
+        this.type = type;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Integer getEngineerId() {
+        return engineerId;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public Long getPosition() {
+        return position;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+
+    /**
+     * Marks the change as published at the given position of the change stream.
+     *
+     * @param position    The position in the change stream.
+     * @param publishedAt The time of publication.
+     */
+    public void publish(long position, Instant publishedAt) {
+        this.position = position;
+        this.publishedAt = publishedAt;
+    }
+}
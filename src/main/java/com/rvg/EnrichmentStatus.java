@@ -0,0 +1,10 @@
+package com.rvg;
+
+/*
+ * Lifecycle of the AI-generated learning path attached to a SoftwareEngineer.
+ */
+public enum EnrichmentStatus {
+    PENDING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,48 @@
+package com.rvg;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/*
+ * LearningPath holds the AI-generated learning path recommendations of a SoftwareEngineer.
+ * It lives in its own table, keyed by the engineer ID, so the large text is only read when asked for.
+ */
+@Entity
+@Table(name = "learning_path")
+public class LearningPath {
+
+    @Id
+    private Integer engineerId;
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "software_engineer_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private SoftwareEngineer engineer;
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String recommendations;
+
+    public LearningPath() {
+    }
+
+    public LearningPath(SoftwareEngineer engineer, String recommendations) {
+        this.engineer = engineer;
+        this.recommendations = recommendations;
+    }
+
+    public Integer getEngineerId() {
+        return engineerId;
+    }
+
+    public SoftwareEngineer getEngineer() {
+        return engineer;
+    }
+
+    public String getRecommendations() {
+        return recommendations;
+    }
+
+    public void setRecommendations(String recommendations) {
+        this.recommendations = recommendations;
+    }
+}
@@ -2,28 +2,63 @@ package com.rvg;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
-
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 
 /*
  * SoftwareEngineer is an entity class representing a software engineer with an ID, name, and tech stack.
+ * Updates only write the columns that changed.
  */
 @Entity
+@DynamicUpdate
 public class SoftwareEngineer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "software_engineer_seq")
+    @SequenceGenerator(name = "software_engineer_seq", sequenceName = "software_engineer_seq", allocationSize = 50)
     private Integer id;
     private String name;
+    /*
+     * Indexed, so changing an entry is a single-row update rather than a rewrite of the collection;
+     * rows are removed by the database's cascade when the engineer is deleted.
+     */
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "software_engineer_tech_stack",
             joinColumns = @JoinColumn(name = "software_engineer_id"))
     @Column(name = "tech_stack")
+    @OrderColumn(name = "position")
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private List<String> techStack;
-    @Column(columnDefinition = "TEXT")
+    /* Normalized copy of the tech stack, derived on every write and GIN-indexed for skill searches. */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private String[] skills;
+    /* Stored in LearningPath; only populated when the recommendations were explicitly loaded or written. */
+    @Transient
     private String learningPathRecommendations;
+    @Enumerated(EnumType.STRING)
+    private EnrichmentStatus enrichmentStatus = EnrichmentStatus.PENDING;
+    /* Incremented on every change, including changes to the learning path; drives the ETag. */
+    @Version
+    private Long version;
+    private Instant updatedAt;
+    /*
+     * Set while a LearningPathBackfill run on some node is generating this engineer's learning path.
+     * Only written by bulk updates, which do not change the version.
+     */
+    private Instant backfillLeaseUntil;
+    /* Backfill generations that failed for this engineer; past app.backfill.max-attempts it is no longer retried. */
+    private int backfillAttempts;
 
     public SoftwareEngineer() {
     }
@@ -31,7 +66,7 @@ public class SoftwareEngineer {
     public SoftwareEngineer(Integer id, String name, List<String> techStack, String learningPathRecommendations) {
         this.id = id;
         this.name = name;
-        this.techStack = techStack;
+        this.techStack = techStack != null ? new ArrayList<>(techStack) : null;
         this.learningPathRecommendations = learningPathRecommendations;
     }
 
@@ -63,10 +98,87 @@ public class SoftwareEngineer {
         this.learningPathRecommendations = learningPathRecommendations;
     }
 
+    public EnrichmentStatus getEnrichmentStatus() {
+        return enrichmentStatus;
+    }
+
+    public void setEnrichmentStatus(EnrichmentStatus enrichmentStatus) {
+        this.enrichmentStatus = enrichmentStatus;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Records a change, which also makes Hibernate increment the version on flush.
+     */
+    public void touch() {
+        this.updatedAt = Instant.now();
+    }
+
+    public String[] getSkills() {
+        return skills;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void onWrite() {
+        touch();
+        skills = techStack == null ? new String[0] : techStack.stream()
+                .map(SoftwareEngineer::normalizeSkill)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Normalizes a tech stack entry for matching: trimmed and lower-cased.
+     *
+     * @param skill The tech stack entry.
+     * @return The normalized skill, or null if the entry is blank.
+     */
+    public static String normalizeSkill(String skill) {
+        return skill == null || skill.isBlank() ? null : skill.trim().toLowerCase(Locale.ROOT);
+    }
+
     public void setTechStack(List<String> techStack) {
         this.techStack = techStack != null ? new ArrayList<>(techStack) : new ArrayList<>();
     }
 
+    /**
+     * Replaces the tech stack in place, position by position, so only the entries that differ are
+     * written: changed positions are updated, extra ones inserted and missing ones deleted.
+     *
+     * @param techStack The new tech stack; null clears it.
+     */
+    public void replaceTechStack(List<String> techStack) {
+        List<String> target = techStack != null ? techStack : List.of();
+        if (this.techStack == null) {
+            setTechStack(target);
+            return;
+        }
+        for (int i = 0; i < Math.min(this.techStack.size(), target.size()); i++) {
+            if (!Objects.equals(this.techStack.get(i), target.get(i))) {
+                this.techStack.set(i, target.get(i));
+            }
+        }
+        while (this.techStack.size() > target.size()) {
+            this.techStack.removeLast();
+        }
+        for (int i = this.techStack.size(); i < target.size(); i++) {
+            this.techStack.add(target.get(i));
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
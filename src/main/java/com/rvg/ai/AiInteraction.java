@@ -0,0 +1,22 @@
+package com.rvg.ai;
+
+import java.time.Instant;
+
+/*
+ * One AI call as recorded in the AiInteractionLog. The prompt is kept only as its hash and length;
+ * the response only for successful calls, so it can be replayed. Token counts are null when the
+ * provider did not report them, e.g. for failed calls.
+ */
+public record AiInteraction(
+        Instant occurredAt,
+        String mode,
+        String promptHash,
+        int promptChars,
+        String model,
+        Integer promptTokens,
+        Integer completionTokens,
+        long latencyMs,
+        String outcome,
+        String response
+) {
+}
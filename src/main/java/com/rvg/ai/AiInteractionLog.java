@@ -0,0 +1,238 @@
+package com.rvg.ai;
+
+import com.rvg.dto.AiUsageBucketDTO;
+import com.rvg.dto.AiUsageReportDTO;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Append-only Postgres log of AI calls, one row per call with the prompt hash, model, token usage,
+ * latency and outcome, from which identical prompts are replayed and usage reports are built.
+ * Like the PersistentRecommendationStore table, it is managed here so it survives restarts.
+ * <p>
+ * Rows stay small: the prompt is stored as a SHA-256 hash of the configured model and the prompt text,
+ * and the response only for successful calls. Rows are only ever appended in time order, so occurred_at
+ * is indexed with a BRIN index of a few pages rather than a B-tree. It is a TIMESTAMPTZ, so rows and
+ * report buckets, which are cut at UTC hours and days, do not depend on the time zone of the writer.
+ * Failing to write a row is logged and never fails the AI call itself.
+ */
+@Component
+public class AiInteractionLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AiInteractionLog.class);
+
+    /* Calls that reached the provider: replays and calls rejected by the resilience chain never did. */
+    private static final String CALLED = "outcome NOT IN ('replayed', 'circuit_open', 'rejected')";
+
+    private static final String AGGREGATES = """
+            count(*) FILTER (WHERE %1$s),
+            count(*) FILTER (WHERE %1$s AND outcome <> 'success'),
+            count(*) FILTER (WHERE outcome IN ('circuit_open', 'rejected')),
+            count(*) FILTER (WHERE outcome = 'replayed'),
+            coalesce(sum(prompt_tokens), 0),
+            coalesce(sum(completion_tokens), 0),
+            avg(latency_ms) FILTER (WHERE %1$s),
+            percentile_cont(0.95) WITHIN GROUP (ORDER BY latency_ms) FILTER (WHERE %1$s)""".formatted(CALLED);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String model;
+    private final Duration replayTtl;
+    private final double promptPricePerMillion;
+    private final double completionPricePerMillion;
+
+    public AiInteractionLog(JdbcTemplate jdbcTemplate,
+                            @Value("${app.ai.interactions.enabled:true}") boolean enabled,
+                            @Value("${spring.ai.openai.chat.options.model:unknown}") String model,
+                            @Value("${app.ai.interactions.replay-ttl:7d}") Duration replayTtl,
+                            @Value("${app.ai.pricing.prompt-per-million-tokens:0}") double promptPricePerMillion,
+                            @Value("${app.ai.pricing.completion-per-million-tokens:0}") double completionPricePerMillion) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.model = model;
+        this.replayTtl = replayTtl;
+        this.promptPricePerMillion = promptPricePerMillion;
+        this.completionPricePerMillion = completionPricePerMillion;
+    }
+
+    @PostConstruct
+    void createTable() {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS ai_interaction (
+                    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                    occurred_at TIMESTAMPTZ NOT NULL,
+                    mode VARCHAR(10) NOT NULL,
+                    prompt_hash VARCHAR(64) NOT NULL,
+                    prompt_chars INTEGER NOT NULL,
+                    model VARCHAR(100) NOT NULL,
+                    prompt_tokens INTEGER,
+                    completion_tokens INTEGER,
+                    latency_ms BIGINT NOT NULL,
+                    outcome VARCHAR(20) NOT NULL,
+                    response TEXT
+                )""");
+        // Older tables have a TIMESTAMP occurred_at holding JVM-local times; the driver sets the session
+        // to the JVM's time zone, so converting it in this session keeps the instants.
+        jdbcTemplate.execute("""
+                DO $$
+                BEGIN
+                    IF EXISTS (SELECT 1 FROM information_schema.columns
+                               WHERE table_name = 'ai_interaction' AND column_name = 'occurred_at'
+                                 AND data_type = 'timestamp without time zone') THEN
+                        ALTER TABLE ai_interaction ALTER COLUMN occurred_at TYPE TIMESTAMPTZ;
+                    END IF;
+                END $$""");
+        jdbcTemplate.execute("""
+                CREATE INDEX IF NOT EXISTS idx_ai_interaction_replay
+                ON ai_interaction (prompt_hash, id) WHERE response IS NOT NULL""");
+        jdbcTemplate.execute("""
+                CREATE INDEX IF NOT EXISTS idx_ai_interaction_occurred_at
+                ON ai_interaction USING brin (occurred_at)""");
+    }
+
+    /**
+     * Returns the model calls are recorded for when the provider does not report one.
+     *
+     * @return The configured chat model.
+     */
+    public String getModel() {
+        return model;
+    }
+
+    /**
+     * Computes the hash a prompt is recorded and replayed by. It covers the configured model,
+     * so switching models does not replay answers of the previous one.
+     *
+     * @param prompt The prompt.
+     * @return The hex encoded SHA-256 hash.
+     */
+    public String hash(String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((model + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(prompt.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Finds the response of the latest successful call with the same prompt within app.ai.interactions.replay-ttl.
+     *
+     * @param promptHash The prompt hash.
+     * @return The recorded response, if any.
+     */
+    public Optional<String> findReplay(String promptHash) {
+        if (!enabled || replayTtl.isZero()) {
+            return Optional.empty();
+        }
+        try {
+            return jdbcTemplate.query("""
+                            SELECT response FROM ai_interaction
+                            WHERE prompt_hash = ? AND response IS NOT NULL AND occurred_at > ?
+                            ORDER BY id DESC
+                            LIMIT 1""",
+                            (rs, rowNum) -> rs.getString(1),
+                            promptHash, Timestamp.from(Instant.now().minus(replayTtl)))
+                    .stream()
+                    .findFirst();
+        } catch (RuntimeException e) {
+            log.warn("Looking up a replayable AI response failed, calling the AI instead", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Appends an AI call to the log.
+     *
+     * @param interaction The call to record.
+     */
+    public void append(AiInteraction interaction) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("""
+                            INSERT INTO ai_interaction (occurred_at, mode, prompt_hash, prompt_chars, model,
+                                prompt_tokens, completion_tokens, latency_ms, outcome, response)
+                            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""",
+                    Timestamp.from(interaction.occurredAt()), interaction.mode(), interaction.promptHash(),
+                    interaction.promptChars(), interaction.model(), interaction.promptTokens(),
+                    interaction.completionTokens(), interaction.latencyMs(), interaction.outcome(),
+                    interaction.response());
+        } catch (RuntimeException e) {
+            log.warn("Recording an AI call failed", e);
+        }
+    }
+
+    /**
+     * Reports calls, tokens, estimated cost and latency between two instants, in total and per hour or day.
+     * Calls rejected before reaching the provider (circuit_open, rejected) are counted apart, and left out of
+     * the calls, failures and latency, which would otherwise look better the more calls are turned away.
+     * Cost is estimated from the app.ai.pricing.* prices per million prompt and completion tokens.
+     *
+     * @param from   The start of the period, inclusive.
+     * @param to     The end of the period, exclusive.
+     * @param bucket ChronoUnit.HOURS or ChronoUnit.DAYS.
+     * @return The usage report.
+     */
+    public AiUsageReportDTO report(Instant from, Instant to, ChronoUnit bucket) {
+        String unit = switch (bucket) {
+            case HOURS -> "hour";
+            case DAYS -> "day";
+            default -> throw new IllegalArgumentException("Unsupported bucket: " + bucket);
+        };
+        if (!enabled) {
+            return new AiUsageReportDTO(from, to, unit, new AiUsageBucketDTO(from, 0, 0, 0, 0, 0, 0, 0, 0, 0), List.of());
+        }
+        Timestamp start = Timestamp.from(from);
+        Timestamp end = Timestamp.from(to);
+        AiUsageBucketDTO total = jdbcTemplate.queryForObject(
+                "SELECT " + AGGREGATES + " FROM ai_interaction WHERE occurred_at >= ? AND occurred_at < ?",
+                (rs, rowNum) -> bucket(rs, 1, from),
+                start, end);
+        List<AiUsageBucketDTO> buckets = jdbcTemplate.query(
+                "SELECT date_trunc('" + unit + "', occurred_at, 'UTC'), " + AGGREGATES
+                        + " FROM ai_interaction WHERE occurred_at >= ? AND occurred_at < ? GROUP BY 1 ORDER BY 1",
+                (rs, rowNum) -> bucket(rs, 2, rs.getTimestamp(1).toInstant()),
+                start, end);
+        return new AiUsageReportDTO(from, to, unit, total, buckets);
+    }
+
+    /* Reads the AGGREGATES columns starting at the given column index. */
+    private AiUsageBucketDTO bucket(ResultSet rs, int first, Instant start) throws SQLException {
+        long promptTokens = rs.getLong(first + 4);
+        long completionTokens = rs.getLong(first + 5);
+        double cost = (promptTokens * promptPricePerMillion + completionTokens * completionPricePerMillion) / 1_000_000;
+        return new AiUsageBucketDTO(start,
+                rs.getLong(first),
+                rs.getLong(first + 1),
+                rs.getLong(first + 2),
+                rs.getLong(first + 3),
+                promptTokens,
+                completionTokens,
+                cost,
+                rs.getDouble(first + 6),
+                rs.getDouble(first + 7));
+    }
+}
@@ -1,34 +1,254 @@
 package com.rvg.ai;
 
+import com.rvg.errors.AiUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.retry.TransientAiException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Service class for interacting with AI chat models.
+ * Every call goes through the "ai" Resilience4j instances configured under resilience4j.*:
+ * jittered retry on 429/5xx, circuit breaker, rate limiter, per-call time limit and a bulkhead
+ * capping in-flight calls. Calls that cannot be made right now, or that fail for reasons worth trying
+ * again later, fail with AiUnavailableException.
+ * Each call, retries included, is timed as ai.chat, tagged with the mode (call or stream), the outcome
+ * and the exception behind a failure. Token usage per model call is published by Spring AI as
+ * gen_ai.client.token.usage.
+ * <p>
+ * Every call is also recorded in the AiInteractionLog with its token usage, latency and outcome. A call whose
+ * prompt was answered successfully within app.ai.interactions.replay-ttl is answered from the log instead of
+ * being sent again, and recorded as replayed. Streams are recorded but never replayed, since they are used to
+ * get a freshly generated answer.
  */
 @Service
 public class AiService {
 
+    static final String INSTANCE = "ai";
+    static final String TIMER = "ai.chat";
+
     private final ChatClient chatClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+    private final RateLimiter rateLimiter;
+    private final Bulkhead bulkhead;
+    private final TimeLimiter timeLimiter;
+    private final MeterRegistry meterRegistry;
+    private final AiInteractionLog interactionLog;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
 
-    public AiService(ChatClient.Builder chatClientBuilder) {
+    public AiService(ChatClient.Builder chatClientBuilder,
+                     CircuitBreakerRegistry circuitBreakerRegistry,
+                     RetryRegistry retryRegistry,
+                     RateLimiterRegistry rateLimiterRegistry,
+                     BulkheadRegistry bulkheadRegistry,
+                     TimeLimiterRegistry timeLimiterRegistry,
+                     MeterRegistry meterRegistry,
+                     AiInteractionLog interactionLog) {
         this.chatClient = chatClientBuilder.build();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE);
+        this.retry = retryRegistry.retry(INSTANCE);
+        this.rateLimiter = rateLimiterRegistry.rateLimiter(INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCE);
+        this.timeLimiter = timeLimiterRegistry.timeLimiter(INSTANCE);
+        this.meterRegistry = meterRegistry;
+        this.interactionLog = interactionLog;
     }
 
     /**
-     * Sends a prompt to the AI chat model and returns the response.
+     * Sends a prompt to the AI chat model and returns the response, or replays the recorded response
+     * to the same prompt.
      *
      * @param prompt The prompt to send to the AI.
      * @return The AI's response as a String.
+     * @throws AiUnavailableException if the AI cannot be called right now.
      */
     public String chat(String prompt) {
+        String promptHash = interactionLog.hash(prompt);
+        Optional<String> replayed = interactionLog.findReplay(promptHash);
+        if (replayed.isPresent()) {
+            interactionLog.append(new AiInteraction(Instant.now(), "call", promptHash, prompt.length(),
+                    interactionLog.getModel(), null, null, 0, "replayed", null));
+            return replayed.get();
+        }
+        Callable<ChatResponse> call = Bulkhead.decorateCallable(bulkhead, () -> chatClient.prompt()
+                .user(prompt)
+                .call()
+                .chatResponse());
+        Callable<ChatResponse> timeLimited = timeLimiter.decorateFutureSupplier(() -> executor.submit(call));
+        Callable<ChatResponse> resilient = Retry.decorateCallable(retry,
+                CircuitBreaker.decorateCallable(circuitBreaker,
+                        RateLimiter.decorateCallable(rateLimiter, timeLimited)));
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            return chatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .content();
+            ChatResponse response = resilient.call();
+            String content = text(response);
+            long nanos = record(sample, "call", null);
+            interactionLog.append(interaction("call", promptHash, prompt, response, nanos, null, content));
+            return content;
         } catch (Exception e) {
-            throw new RuntimeException("Error during AI chat interaction", e);
+            long nanos = record(sample, "call", e);
+            interactionLog.append(interaction("call", promptHash, prompt, null, nanos, e, null));
+            throw translate(e);
         }
     }
+
+    /**
+     * Sends a prompt to the AI chat model and streams the response as it is generated.
+     * The time limit applies to the wait for each chunk. Streams are not retried, since
+     * chunks already sent to the caller cannot be taken back.
+     *
+     * @param prompt The prompt to send to the AI.
+     * @return The AI's response as a stream of content chunks.
+     */
+    public Flux<String> stream(String prompt) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String promptHash = interactionLog.hash(prompt);
+            // Providers report the usage of a stream in one of its last chunks
+            AtomicReference<ChatResponse> withUsage = new AtomicReference<>();
+            return Flux.defer(() -> chatClient.prompt()
+                            .user(prompt)
+                            .stream()
+                            .chatResponse())
+                    .transformDeferred(BulkheadOperator.of(bulkhead))
+                    .transformDeferred(TimeLimiterOperator.of(timeLimiter))
+                    .transformDeferred(RateLimiterOperator.of(rateLimiter))
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                    .doOnNext(response -> {
+                        if (usage(response) != null) {
+                            withUsage.set(response);
+                        }
+                    })
+                    .mapNotNull(AiService::text)
+                    .filter(text -> !text.isEmpty())
+                    .doOnComplete(() -> interactionLog.append(interaction("stream", promptHash, prompt,
+                            withUsage.get(), record(sample, "stream", null), null, null)))
+                    .doOnError(e -> interactionLog.append(interaction("stream", promptHash, prompt,
+                            withUsage.get(), record(sample, "stream", e), e, null)))
+                    .onErrorMap(AiService::translate);
+        });
+    }
+
+    /* Returns the duration of the call in nanoseconds. */
+    private long record(Timer.Sample sample, String mode, Throwable error) {
+        return sample.stop(Timer.builder(TIMER)
+                .description("Time spent in AI calls, including retries")
+                .tag("mode", mode)
+                .tag("outcome", Outcome.of(error).name().toLowerCase(Locale.ROOT))
+                .tag("exception", error == null ? "none" : error.getClass().getSimpleName())
+                .register(meterRegistry));
+    }
+
+    private AiInteraction interaction(String mode, String promptHash, String prompt, ChatResponse response,
+                                      long nanos, Throwable error, String content) {
+        Usage usage = usage(response);
+        String model = response == null ? null : response.getMetadata().getModel();
+        return new AiInteraction(Instant.now(), mode, promptHash, prompt.length(),
+                model == null || model.isEmpty() ? interactionLog.getModel() : model,
+                usage == null ? null : usage.getPromptTokens(),
+                usage == null ? null : usage.getCompletionTokens(),
+                TimeUnit.NANOSECONDS.toMillis(nanos),
+                Outcome.of(error).name().toLowerCase(Locale.ROOT),
+                content == null || content.isBlank() ? null : content);
+    }
+
+    /* The usage reported with the response, or null if there is none. */
+    private static Usage usage(ChatResponse response) {
+        if (response == null) {
+            return null;
+        }
+        Usage usage = response.getMetadata().getUsage();
+        return usage == null || usage.getTotalTokens() == null || usage.getTotalTokens() == 0 ? null : usage;
+    }
+
+    private static String text(ChatResponse response) {
+        return response == null || response.getResult() == null || response.getResult().getOutput() == null
+                ? null : response.getResult().getOutput().getText();
+    }
+
+    private static RuntimeException translate(Throwable e) {
+        return switch (Outcome.of(e)) {
+            case CIRCUIT_OPEN -> new AiUnavailableException("AI service unavailable: circuit breaker is open", e);
+            case REJECTED -> new AiUnavailableException("AI service unavailable: too many concurrent requests", e);
+            case TIMEOUT -> new AiUnavailableException("AI service unavailable: request timed out", e);
+            case UNREACHABLE -> new AiUnavailableException("AI service unreachable", e);
+            case TRANSIENT -> new AiUnavailableException("AI service unavailable: " + e.getMessage(), e);
+            case SUCCESS, ERROR -> new RuntimeException("Error during AI chat interaction", e);
+        };
+    }
+
+    /*
+     * How an AI call ended, used both for the outcome tag and to pick the exception callers see.
+     */
+    private enum Outcome {
+        SUCCESS,
+        CIRCUIT_OPEN,
+        REJECTED,
+        TIMEOUT,
+        UNREACHABLE,
+        TRANSIENT,
+        ERROR;
+
+        static Outcome of(Throwable e) {
+            if (e == null) {
+                return SUCCESS;
+            }
+            if (e instanceof CallNotPermittedException) {
+                return CIRCUIT_OPEN;
+            }
+            if (e instanceof RequestNotPermitted || e instanceof BulkheadFullException) {
+                return REJECTED;
+            }
+            if (e instanceof TimeoutException) {
+                return TIMEOUT;
+            }
+            if (e instanceof ResourceAccessException || e instanceof WebClientRequestException) {
+                return UNREACHABLE;
+            }
+            if (e instanceof TransientAiException) {
+                return TRANSIENT;
+            }
+            return ERROR;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
 }
@@ -0,0 +1,27 @@
+package com.rvg.ai;
+
+/*
+ * Outcome of generating the learning path of one tech stack of a batch:
+ * the recommendations, or the exception generating them failed with.
+ */
+public record GenerationResult(
+        String recommendations,
+        RuntimeException failure
+) {
+
+    public static GenerationResult of(String recommendations) {
+        return new GenerationResult(recommendations, null);
+    }
+
+    public static GenerationResult failedWith(RuntimeException failure) {
+        return new GenerationResult(null, failure);
+    }
+
+    /* Returns the recommendations, or throws the exception generating them failed with. */
+    public String get() {
+        if (failure != null) {
+            throw failure;
+        }
+        return recommendations;
+    }
+}
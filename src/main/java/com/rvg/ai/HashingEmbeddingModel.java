@@ -0,0 +1,110 @@
+package com.rvg.ai;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Local embedding model that needs no network or model files: words and adjacent word pairs are hashed
+ * into a fixed number of dimensions (the "hashing trick") with a hash-derived sign, then L2-normalized.
+ * Texts sharing technologies and roadmap terms end up close under cosine similarity. It stands in for a
+ * Spring AI embedding model, which can replace it by configuration (see EmbeddingConfig).
+ */
+public class HashingEmbeddingModel implements EmbeddingModel {
+
+    /* Keeps technology names such as c#, c++, node.js and .net together. */
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}#+.]+");
+
+    private final int dimensions;
+
+    public HashingEmbeddingModel(int dimensions) {
+        if (dimensions < 1) {
+            throw new IllegalArgumentException("dimensions must be positive");
+        }
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<String> texts = request.getInstructions();
+        List<Embedding> embeddings = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            embeddings.add(new Embedding(embed(texts.get(i)), i));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        String previous = null;
+        for (String token : TOKEN_SEPARATOR.split(text == null ? "" : text.toLowerCase(Locale.ROOT))) {
+            token = strip(token);
+            if (token.isEmpty()) {
+                continue;
+            }
+            add(vector, token);
+            if (previous != null) {
+                add(vector, previous + ' ' + token);
+            }
+            previous = token;
+        }
+        return normalize(vector);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embed(document.getText());
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    private void add(float[] vector, String feature) {
+        int hash = mix(feature.hashCode());
+        vector[Math.floorMod(hash, dimensions)] += (hash & 0x80000000) == 0 ? 1f : -1f;
+    }
+
+    /* Sentence punctuation around a token is not part of it: "terraform." is "terraform", ".net" stays. */
+    private static String strip(String token) {
+        int end = token.length();
+        while (end > 0 && token.charAt(end - 1) == '.') {
+            end--;
+        }
+        return token.substring(0, end);
+    }
+
+    /* Murmur3 finalizer, so similar strings spread over all dimensions and both signs. */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    static float[] normalize(float[] vector) {
+        double sum = 0;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        if (sum == 0) {
+            return vector;
+        }
+        float norm = (float) Math.sqrt(sum);
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] /= norm;
+        }
+        return vector;
+    }
+}
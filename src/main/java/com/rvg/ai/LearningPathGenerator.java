@@ -0,0 +1,224 @@
+package com.rvg.ai;
+
+import com.rvg.errors.AiUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Generates learning path recommendations for a tech stack,
+ * reusing cached recommendations for equivalent stacks before calling the AI.
+ * Concurrent generations for equivalent stacks share a single AI call: the first caller makes it and the
+ * others wait for its result (or its failure). Callers that joined another caller's AI call are counted
+ * as ai.recommendations.coalesced; the AI calls currently in flight are gauged as ai.recommendations.in_flight.
+ * <p>
+ * generateAll asks for the learning paths of several stacks in a single AI call, so the instructions are
+ * sent once; stacks missing from its answer are generated one by one. Both outcomes are counted as
+ * ai.recommendations.batch.items, tagged result=parsed or result=fallback. A stack that cannot be generated
+ * fails on its own, without failing the rest of the batch.
+ */
+@Service
+public class LearningPathGenerator {
+
+    private final AiService aiService;
+    private final RecommendationCache recommendationCache;
+    private final ConcurrentMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+    private final Counter batchParsed;
+    private final Counter batchFallbacks;
+
+    public LearningPathGenerator(AiService aiService, RecommendationCache recommendationCache,
+                                 MeterRegistry meterRegistry) {
+        this.aiService = aiService;
+        this.recommendationCache = recommendationCache;
+        this.coalesced = Counter.builder(RecommendationCache.CACHE_NAME + ".coalesced")
+                .description("Generations that waited for an identical AI call already in flight")
+                .register(meterRegistry);
+        Gauge.builder(RecommendationCache.CACHE_NAME + ".in_flight", inFlight, ConcurrentMap::size)
+                .description("AI calls in flight for distinct tech stacks")
+                .register(meterRegistry);
+        this.batchParsed = Counter.builder(RecommendationCache.CACHE_NAME + ".batch.items")
+                .tag("result", "parsed")
+                .register(meterRegistry);
+        this.batchFallbacks = Counter.builder(RecommendationCache.CACHE_NAME + ".batch.items")
+                .tag("result", "fallback")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Generates learning path recommendations for the given tech stack.
+     * If recommendations for an equivalent stack are being generated already, waits for those instead.
+     *
+     * @param techStack The current tech stack.
+     * @return The learning path recommendations.
+     * @throws AiUnavailableException if the AI cannot be called right now.
+     */
+    public String generate(List<String> techStack) {
+        String key = RecommendationCache.keyFor(techStack);
+        Optional<String> cached = recommendationCache.get(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        try {
+            // A call for the same stack may have completed and been cached since the lookup above
+            String recommendations = recommendationCache.get(key).orElseGet(() -> {
+                String generated = aiService.chat(LearningPathPrompt.forTechStack(techStack));
+                recommendationCache.put(key, generated);
+                return generated;
+            });
+            call.complete(recommendations);
+            return recommendations;
+        } catch (Throwable e) {
+            // Errors too, or callers waiting for this call would block forever
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Generates learning path recommendations for several tech stacks with one AI call.
+     * Cached stacks and stacks already being generated are not asked for again, and equivalent stacks
+     * are asked for once. A stack the answer has no recommendations for is generated on its own.
+     * A failure only fails the stacks it concerns: the results of the other stacks are still returned.
+     *
+     * @param techStacks The tech stacks.
+     * @return The recommendations of each stack, or the exception generating them failed with
+     * (e.g. AiUnavailableException), in the order of the tech stacks.
+     */
+    public List<GenerationResult> generateAll(List<List<String>> techStacks) {
+        List<String> keys = techStacks.stream().map(RecommendationCache::keyFor).toList();
+        Map<String, CompletableFuture<String>> calls = new LinkedHashMap<>();
+        Map<String, CompletableFuture<String>> owned = new LinkedHashMap<>();
+        Map<String, List<String>> uncached = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            if (calls.containsKey(key)) {
+                continue;
+            }
+            Optional<String> cached = recommendationCache.get(key);
+            if (cached.isPresent()) {
+                calls.put(key, CompletableFuture.completedFuture(cached.get()));
+                continue;
+            }
+            CompletableFuture<String> call = new CompletableFuture<>();
+            CompletableFuture<String> existing = inFlight.putIfAbsent(key, call);
+            if (existing != null) {
+                coalesced.increment();
+                calls.put(key, existing);
+            } else {
+                calls.put(key, call);
+                owned.put(key, call);
+                uncached.put(key, techStacks.get(i));
+            }
+        }
+        try {
+            generateBatch(uncached, owned);
+        } catch (Throwable e) {
+            owned.values().forEach(call -> call.completeExceptionally(e));
+            throw e;
+        } finally {
+            owned.forEach(inFlight::remove);
+        }
+        return keys.stream().map(key -> resultOf(calls.get(key))).toList();
+    }
+
+    /* Completes every owned call, exceptionally for the stacks that could not be generated. */
+    private void generateBatch(Map<String, List<String>> uncached, Map<String, CompletableFuture<String>> owned) {
+        if (uncached.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(uncached.keySet());
+        List<List<String>> stacks = new ArrayList<>(uncached.values());
+        Map<Integer, String> answers;
+        try {
+            answers = stacks.size() == 1
+                    ? Map.of()
+                    : LearningPathPrompt.parseBatch(aiService.chat(LearningPathPrompt.forTechStacks(stacks)));
+        } catch (RuntimeException e) {
+            owned.values().forEach(call -> call.completeExceptionally(e));
+            return;
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            String answer = answers.get(i + 1);
+            if (answer != null) {
+                batchParsed.increment();
+            } else {
+                if (stacks.size() > 1) {
+                    batchFallbacks.increment();
+                }
+                try {
+                    answer = aiService.chat(LearningPathPrompt.forTechStack(stacks.get(i)));
+                } catch (RuntimeException e) {
+                    owned.get(key).completeExceptionally(e);
+                    continue;
+                }
+            }
+            recommendationCache.put(key, answer);
+            owned.get(key).complete(answer);
+        }
+    }
+
+    /**
+     * Streams learning path recommendations for the given tech stack as they are generated.
+     * Cached recommendations are emitted as a single chunk; a completed stream is cached.
+     *
+     * @param techStack The current tech stack.
+     * @return The learning path recommendations as a stream of content chunks.
+     */
+    public Flux<String> stream(List<String> techStack) {
+        String key = RecommendationCache.keyFor(techStack);
+        return Mono.justOrEmpty(recommendationCache.get(key))
+                .flux()
+                .switchIfEmpty(Flux.defer(() -> {
+                    StringBuilder recommendations = new StringBuilder();
+                    return aiService.stream(LearningPathPrompt.forTechStack(techStack))
+                            .doOnNext(recommendations::append)
+                            .doOnComplete(() -> recommendationCache.put(key, recommendations.toString()));
+                }));
+    }
+
+    private static GenerationResult resultOf(CompletableFuture<String> call) {
+        try {
+            return GenerationResult.of(await(call));
+        } catch (RuntimeException e) {
+            return GenerationResult.failedWith(e);
+        }
+    }
+
+    /* Waiting callers see the exception the calling one got, e.g. AiUnavailableException. */
+    private static String await(CompletableFuture<String> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.rvg.ai;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rvg.SoftwareEngineer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the prompt used to generate learning path recommendations for a Software Engineer.
+ * The prompt only depends on the tech stack so that recommendations can be shared between
+ * engineers with the same stack.
+ */
+public final class LearningPathPrompt {
+
+    /**
+     * Version of the prompt template. Bump it whenever TEMPLATE changes so that
+     * cached recommendations produced by an older template are not reused.
+     */
+    public static final int TEMPLATE_VERSION = 2;
+
+    private static final String TEMPLATE = """
+            Create a technical learning roadmap for a software engineer.
+            Current tech stack: %s
+
+            ## 🚀 Next Skills to Learn (Top 3)
+            Recommend complementary technologies based on their stack.
+            Prioritize by: market demand, career growth, and synergy with current skills.
+
+            ## 📖 Learning Path
+            For each recommended skill:
+            - Best free resource (docs/tutorial)
+            - Top paid course (with platform name)
+            - Practice recommendation
+
+            ## 🛠️ Portfolio Projects
+            Suggest 3 hands-on projects:
+            1. **Beginner:** Simple but impressive
+            2. **Intermediate:** Combines multiple skills
+            3. **Advanced:** Interview-worthy complexity
+
+            Include tech stack for each project.
+
+            Keep response under 300 words, actionable, and markdown-formatted.
+            """;
+
+    /*
+     * The same instructions once for several stacks. Answers come back as one JSON object keyed by
+     * stack number, so each roadmap can be cached and stored on its own.
+     */
+    private static final String BATCH_TEMPLATE = """
+            Create a technical learning roadmap for each of the software engineers below,
+            one roadmap per numbered tech stack.
+
+            Each roadmap has these sections:
+
+            ## 🚀 Next Skills to Learn (Top 3)
+            Recommend complementary technologies based on their stack.
+            Prioritize by: market demand, career growth, and synergy with current skills.
+
+            ## 📖 Learning Path
+            For each recommended skill:
+            - Best free resource (docs/tutorial)
+            - Top paid course (with platform name)
+            - Practice recommendation
+
+            ## 🛠️ Portfolio Projects
+            Suggest 3 hands-on projects:
+            1. **Beginner:** Simple but impressive
+            2. **Intermediate:** Combines multiple skills
+            3. **Advanced:** Interview-worthy complexity
+
+            Include tech stack for each project.
+
+            Keep each roadmap under 300 words, actionable, and markdown-formatted.
+
+            Tech stacks:
+            %s
+            Answer with a single JSON object and nothing else. Its keys are the tech stack numbers
+            as strings and its values are the markdown roadmaps, e.g. {"1": "## 🚀 Next Skills...", "2": "..."}.
+            """;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private LearningPathPrompt() {
+    }
+
+    /**
+     * Builds the learning path prompt for the given Software Engineer.
+     *
+     * @param engineer The Software Engineer to build the prompt for.
+     * @return The prompt to send to the AI.
+     */
+    public static String forEngineer(SoftwareEngineer engineer) {
+        return forTechStack(engineer.getTechStack());
+    }
+
+    /**
+     * Builds the learning path prompt for the given tech stack.
+     *
+     * @param techStack The current tech stack.
+     * @return The prompt to send to the AI.
+     */
+    public static String forTechStack(List<String> techStack) {
+        return TEMPLATE.formatted(techStack);
+    }
+
+    /**
+     * Builds one prompt asking for the learning paths of several tech stacks at once.
+     * Stacks are numbered from 1 in the given order; see parseBatch for the answer.
+     *
+     * @param techStacks The tech stacks.
+     * @return The prompt to send to the AI.
+     */
+    public static String forTechStacks(List<List<String>> techStacks) {
+        StringBuilder stacks = new StringBuilder();
+        for (int i = 0; i < techStacks.size(); i++) {
+            stacks.append(i + 1).append(". ").append(techStacks.get(i)).append('\n');
+        }
+        return BATCH_TEMPLATE.formatted(stacks);
+    }
+
+    /**
+     * Parses the answer to a forTechStacks prompt. Text around the JSON object, such as a
+     * markdown code fence, is ignored.
+     *
+     * @param response The AI response.
+     * @return The non-blank roadmaps by tech stack number; empty if the response is not such a JSON object.
+     */
+    public static Map<Integer, String> parseBatch(String response) {
+        Map<Integer, String> recommendations = new HashMap<>();
+        int start = response == null ? -1 : response.indexOf('{');
+        int end = response == null ? -1 : response.lastIndexOf('}');
+        if (start < 0 || end < start) {
+            return recommendations;
+        }
+        try {
+            JsonNode json = OBJECT_MAPPER.readTree(response.substring(start, end + 1));
+            json.properties().forEach(property -> {
+                Integer number = parseNumber(property.getKey());
+                if (number != null && property.getValue().isTextual() && !property.getValue().asText().isBlank()) {
+                    recommendations.put(number, property.getValue().asText());
+                }
+            });
+        } catch (JsonProcessingException e) {
+            recommendations.clear();
+        }
+        return recommendations;
+    }
+
+    private static Integer parseNumber(String key) {
+        try {
+            return Integer.valueOf(key.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.rvg.ai;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Optional Postgres tier of the RecommendationCache.
+ * The table is managed here rather than by Hibernate so that it survives
+ * the create-drop schema lifecycle of the entity tables across restarts.
+ * created_at is a TIMESTAMPTZ, so the TTL does not depend on the time zone of the writer.
+ */
+@Component
+public class PersistentRecommendationStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Duration ttl;
+
+    public PersistentRecommendationStore(JdbcTemplate jdbcTemplate,
+                                         @Value("${app.ai.cache.persistent.enabled:false}") boolean enabled,
+                                         @Value("${app.ai.cache.persistent.ttl:30d}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.ttl = ttl;
+    }
+
+    @PostConstruct
+    void createTable() {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS ai_recommendation_cache (
+                    cache_key VARCHAR(64) PRIMARY KEY,
+                    recommendations TEXT NOT NULL,
+                    created_at TIMESTAMPTZ NOT NULL
+                )""");
+        // The template version is part of the cache key, so older tables carry it needlessly
+        jdbcTemplate.execute("ALTER TABLE ai_recommendation_cache DROP COLUMN IF EXISTS template_version");
+        // Older tables have a TIMESTAMP created_at holding JVM-local times; the driver sets the session
+        // to the JVM's time zone, so converting it in this session keeps the instants.
+        jdbcTemplate.execute("""
+                DO $$
+                BEGIN
+                    IF EXISTS (SELECT 1 FROM information_schema.columns
+                               WHERE table_name = 'ai_recommendation_cache' AND column_name = 'created_at'
+                                 AND data_type = 'timestamp without time zone') THEN
+                        ALTER TABLE ai_recommendation_cache ALTER COLUMN created_at TYPE TIMESTAMPTZ;
+                    END IF;
+                END $$""");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Finds non-expired recommendations by cache key.
+     *
+     * @param key The cache key.
+     * @return The stored recommendations, if any.
+     */
+    public Optional<String> find(String key) {
+        return jdbcTemplate.query("""
+                        SELECT recommendations FROM ai_recommendation_cache
+                        WHERE cache_key = ? AND created_at > ?""",
+                        (rs, rowNum) -> rs.getString(1),
+                        key, Timestamp.from(Instant.now().minus(ttl)))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Inserts or refreshes recommendations for a cache key.
+     *
+     * @param key             The cache key.
+     * @param recommendations The recommendations to store.
+     */
+    public void save(String key, String recommendations) {
+        jdbcTemplate.update("""
+                        INSERT INTO ai_recommendation_cache (cache_key, recommendations, created_at)
+                        VALUES (?, ?, ?)
+                        ON CONFLICT (cache_key) DO UPDATE
+                        SET recommendations = EXCLUDED.recommendations, created_at = EXCLUDED.created_at""",
+                key, recommendations, Timestamp.from(Instant.now()));
+    }
+}
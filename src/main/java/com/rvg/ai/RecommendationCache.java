@@ -0,0 +1,115 @@
+package com.rvg.ai;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Content-addressed cache of AI learning path recommendations.
+ * Entries are keyed by a hash of the normalized tech stack and the prompt template version,
+ * kept in memory with size and TTL based eviction, and optionally backed by a persistent tier.
+ */
+@Component
+public class RecommendationCache {
+
+    static final String CACHE_NAME = "ai.recommendations";
+
+    private final Cache<String, String> cache;
+    private final PersistentRecommendationStore persistentStore;
+    private final Counter persistentHits;
+    private final Counter persistentMisses;
+
+    public RecommendationCache(PersistentRecommendationStore persistentStore,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.ai.cache.maximum-size:1000}") long maximumSize,
+                               @Value("${app.ai.cache.ttl:24h}") Duration ttl) {
+        this.persistentStore = persistentStore;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.persistentHits = Counter.builder(CACHE_NAME + ".persistent")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.persistentMisses = Counter.builder(CACHE_NAME + ".persistent")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Computes the cache key for a tech stack. The stack is trimmed, lower-cased,
+     * de-duplicated and sorted so that the key does not depend on order or casing.
+     *
+     * @param techStack The tech stack.
+     * @return The hex encoded SHA-256 cache key.
+     */
+    public static String keyFor(List<String> techStack) {
+        String normalized = techStack == null ? "" : String.join("\n", techStack.stream()
+                .filter(Objects::nonNull)
+                .map(tech -> tech.trim().toLowerCase(Locale.ROOT))
+                .filter(tech -> !tech.isEmpty())
+                .distinct()
+                .sorted()
+                .toList());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(("v" + LearningPathPrompt.TEMPLATE_VERSION + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Looks up cached recommendations, falling back to the persistent tier when enabled.
+     *
+     * @param key The cache key.
+     * @return The cached recommendations, if any.
+     */
+    public Optional<String> get(String key) {
+        String cached = cache.getIfPresent(key);
+        if (cached != null || !persistentStore.isEnabled()) {
+            return Optional.ofNullable(cached);
+        }
+        Optional<String> stored = persistentStore.find(key);
+        if (stored.isPresent()) {
+            persistentHits.increment();
+            cache.put(key, stored.get());
+        } else {
+            persistentMisses.increment();
+        }
+        return stored;
+    }
+
+    /**
+     * Stores recommendations in the cache and in the persistent tier when enabled.
+     *
+     * @param key             The cache key.
+     * @param recommendations The recommendations to cache.
+     */
+    public void put(String key, String recommendations) {
+        if (recommendations == null || recommendations.isBlank()) {
+            return;
+        }
+        cache.put(key, recommendations);
+        if (persistentStore.isEnabled()) {
+            persistentStore.save(key, recommendations);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.rvg.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Enables Spring's annotation-driven caching.
+ * Caches are backed by Caffeine and configured through the spring.cache.* properties.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Read-through cache of Software Engineers by ID, evicted on every write.
+     */
+    public static final String ENGINEERS = "engineers";
+
+    /**
+     * Switches Caffeine to async mode and runs loads on virtual threads.
+     * A synchronous cache loads inside a synchronized block, which on Java 21 pins the calling
+     * virtual thread to its carrier while it waits for a database connection. Under load every
+     * carrier ends up pinned and the threads holding connections can never run to release them.
+     * In async mode the caller only waits on a future, which unmounts it as usual.
+     *
+     * @param cacheProperties The spring.cache.* properties, whose Caffeine spec is kept.
+     * @return The customizer applied to the Caffeine cache manager.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> asyncCaffeineCustomizer(CacheProperties cacheProperties) {
+        return cacheManager -> {
+            String spec = cacheProperties.getCaffeine().getSpec();
+            Caffeine<Object, Object> caffeine = StringUtils.hasText(spec) ? Caffeine.from(spec) : Caffeine.newBuilder();
+            cacheManager.setCaffeine(caffeine.executor(Thread::startVirtualThread));
+            cacheManager.setAsyncCacheMode(true);
+        };
+    }
+}
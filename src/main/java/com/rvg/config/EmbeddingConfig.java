@@ -0,0 +1,24 @@
+package com.rvg.config;
+
+import com.rvg.ai.HashingEmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Chooses the embedding model behind engineer similarity search.
+ * By default (app.similarity.embedding-model=hashing) a local HashingEmbeddingModel is used and Spring AI's
+ * own embedding model is switched off (spring.ai.model.embedding=none). To embed with a Spring AI model
+ * instead, set app.similarity.embedding-model=spring-ai and enable that model, e.g. spring.ai.model.embedding=openai.
+ */
+@Configuration
+public class EmbeddingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.similarity.embedding-model", havingValue = "hashing", matchIfMissing = true)
+    public EmbeddingModel hashingEmbeddingModel(@Value("${app.similarity.dimensions:384}") int dimensions) {
+        return new HashingEmbeddingModel(dimensions);
+    }
+}
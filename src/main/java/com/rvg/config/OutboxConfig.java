@@ -0,0 +1,34 @@
+package com.rvg.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rvg.service.ChangeEventSink;
+import com.rvg.service.FileChangeEventSink;
+import com.rvg.service.InMemoryChangeEventSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Chooses where ChangeEventRelay publishes engineer changes (app.outbox.sink).
+ * "memory" (the default) keeps the latest changes in memory and "file" appends them to app.outbox.file as NDJSON.
+ * To publish elsewhere, e.g. to a message broker, set app.outbox.sink=custom and declare a ChangeEventSink bean.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.outbox.sink", havingValue = "memory", matchIfMissing = true)
+    public ChangeEventSink inMemoryChangeEventSink(@Value("${app.outbox.memory.capacity:1000}") int capacity) {
+        return new InMemoryChangeEventSink(capacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.outbox.sink", havingValue = "file")
+    public ChangeEventSink fileChangeEventSink(@Value("${app.outbox.file:data/engineer-changes.ndjson}") String file,
+                                              ObjectMapper objectMapper) {
+        return new FileChangeEventSink(Path.of(file), objectMapper);
+    }
+}
@@ -0,0 +1,12 @@
+package com.rvg.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled methods, such as the background health checks and the learning path backfill.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,55 @@
+package com.rvg.controller;
+
+import com.rvg.ai.AiInteractionLog;
+import com.rvg.dto.AiUsageReportDTO;
+import com.rvg.errors.BadRequestException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * REST controller for AI usage reports, built from the calls recorded in the AiInteractionLog.
+ */
+@RestController
+@RequestMapping("api/v1/ai/usage")
+public class AiUsageController {
+
+    private final AiInteractionLog interactionLog;
+
+    public AiUsageController(AiInteractionLog interactionLog) {
+        this.interactionLog = interactionLog;
+    }
+
+    /**
+     * Reports AI calls, token usage, estimated cost and latency over a period, in total and per hour or day.
+     *
+     * @param from   The start of the period (ISO-8601 instant), by default 7 days before to.
+     * @param to     The end of the period (ISO-8601 instant), by default now.
+     * @param bucket hour or day (default).
+     * @return The usage report.
+     * @throws BadRequestException if the bucket is unknown or from is not before to.
+     */
+    @GetMapping
+    public ResponseEntity<AiUsageReportDTO> report(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "day") String bucket) {
+        ChronoUnit unit = switch (bucket) {
+            case "hour" -> ChronoUnit.HOURS;
+            case "day" -> ChronoUnit.DAYS;
+            default -> throw new BadRequestException("bucket must be hour or day");
+        };
+        Instant end = to == null ? Instant.now() : to;
+        Instant start = from == null ? end.minus(Duration.ofDays(7)) : from;
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("from must be before to");
+        }
+        return ResponseEntity.ok(interactionLog.report(start, end, unit));
+    }
+}
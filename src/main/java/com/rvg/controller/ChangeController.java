@@ -0,0 +1,52 @@
+package com.rvg.controller;
+
+import com.rvg.dto.ChangePage;
+import com.rvg.errors.BadRequestException;
+import com.rvg.service.ChangeOutbox;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the stream of Software Engineer changes published by the ChangeEventRelay.
+ * Consumers poll with the nextSince of the previous page to read every change exactly in publication order.
+ * Changes published longer than app.outbox.retention ago are purged and no longer returned.
+ */
+@RestController
+@RequestMapping("api/v1/software-engineers/changes")
+public class ChangeController {
+
+    private final ChangeOutbox changeOutbox;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public ChangeController(ChangeOutbox changeOutbox,
+                            @Value("${app.pagination.default-size:20}") int defaultPageSize,
+                            @Value("${app.pagination.max-size:100}") int maxPageSize) {
+        this.changeOutbox = changeOutbox;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Lists the published changes after the given position, oldest first.
+     *
+     * @param since The position of the last change already read (nextSince), or 0 to read from the start.
+     * @param limit The requested page size, capped by app.pagination.max-size.
+     * @return A page of changes and the position to continue from.
+     * @throws BadRequestException if since is negative.
+     */
+    @GetMapping
+    public ResponseEntity<ChangePage> changes(
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) Integer limit) {
+        if (since != null && since < 0) {
+            throw new BadRequestException("since must not be negative");
+        }
+        int pageSize = limit == null || limit < 1 ? defaultPageSize : Math.min(limit, maxPageSize);
+        return ResponseEntity.ok(changeOutbox.findSince(since == null ? 0 : since, pageSize));
+    }
+}
@@ -0,0 +1,65 @@
+package com.rvg.controller;
+
+import com.rvg.dto.CursorPage;
+import com.rvg.dto.EngineerVersion;
+import com.rvg.dto.EngineerView;
+import com.rvg.errors.BadRequestException;
+
+import java.util.Locale;
+
+/*
+ * Strong ETags for engineer representations, derived from entity versions rather than from response bodies,
+ * so they can be compared before anything is serialized. Each view is a separate representation and gets its
+ * own tag.
+ */
+final class EngineerETags {
+
+    private EngineerETags() {
+    }
+
+    static String of(Integer id, Long version, EngineerView view) {
+        return "\"" + id + "-" + (version == null ? 0 : version) + "-" + suffix(view) + "\"";
+    }
+
+    /*
+     * Covers the ids and versions of the page items and the next cursor, so any change, insertion or deletion
+     * within the page changes the tag. Needs only the id and version columns, so the engineers are loaded
+     * only when the tag does not match.
+     */
+    static String of(CursorPage<EngineerVersion> page, EngineerView view) {
+        long hash = 1125899906842597L;
+        for (EngineerVersion engineer : page.items()) {
+            hash = 31 * hash + engineer.id();
+            hash = 31 * hash + (engineer.version() == null ? 0 : engineer.version());
+        }
+        hash = 31 * hash + (page.nextCursor() == null ? -1 : page.nextCursor());
+        return "\"p-" + Long.toHexString(hash) + "-" + suffix(view) + "\"";
+    }
+
+    /*
+     * The version named by an If-Match header holding a tag of this engineer in any view;
+     * null when the header is absent or "*", which match any version.
+     */
+    static Long versionOf(Integer id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        String[] parts = tag.replace("\"", "").split("-");
+        if (parts.length != 3 || !parts[0].equals(String.valueOf(id))) {
+            throw new BadRequestException("If-Match must be an ETag of engineer " + id + ": " + ifMatch);
+        }
+        try {
+            return Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("If-Match must be an ETag of engineer " + id + ": " + ifMatch);
+        }
+    }
+
+    private static String suffix(EngineerView view) {
+        return view.name().toLowerCase(Locale.ROOT);
+    }
+}
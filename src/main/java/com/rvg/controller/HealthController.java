@@ -1,23 +1,34 @@
 package com.rvg.controller;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import com.rvg.health.DatabaseHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import javax.sql.DataSource;
-import java.sql.Connection;
-
+/**
+ * Legacy database check, kept for existing callers.
+ * Answers from the last background database check instead of borrowing a pooled connection;
+ * load balancers should poll /readyz and /livez instead.
+ */
 @RestController
 public class HealthController {
 
-    @Autowired
-    private DataSource dataSource;
+    private final DatabaseHealthIndicator databaseHealthIndicator;
+
+    public HealthController(DatabaseHealthIndicator databaseHealthIndicator) {
+        this.databaseHealthIndicator = databaseHealthIndicator;
+    }
 
     @GetMapping("/db-check")
-    public String checkDb() throws Exception {
-        try (Connection conn = dataSource.getConnection()) {
-            return "Connected to: " + conn.getMetaData().getDatabaseProductName()
-                    + " version " + conn.getMetaData().getDatabaseProductVersion();
+    public ResponseEntity<String> checkDb() {
+        Health health = databaseHealthIndicator.health();
+        if (!Status.UP.equals(health.getStatus())) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Database " + health.getStatus());
         }
+        return ResponseEntity.ok("Connected to: " + health.getDetails().get("database")
+                + " version " + health.getDetails().get("version"));
     }
 }
@@ -0,0 +1,71 @@
+package com.rvg.controller;
+
+import com.rvg.dto.SimilarEngineerDTO;
+import com.rvg.dto.SimilarityIndexStatsDTO;
+import com.rvg.service.SimilarityIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for finding similar engineers, answered from the in-memory similarity index.
+ * Returns engineer IDs only; details are read through the Software Engineer endpoints.
+ */
+@RestController
+@RequestMapping("api/v1/similarity")
+public class SimilarityController {
+
+    private final SimilarityIndex similarityIndex;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public SimilarityController(SimilarityIndex similarityIndex,
+                                @Value("${app.pagination.default-size:20}") int defaultPageSize,
+                                @Value("${app.pagination.max-size:100}") int maxPageSize) {
+        this.similarityIndex = similarityIndex;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Finds the engineers most similar to the given one by tech stack and learning path.
+     *
+     * @param id    The ID of the Software Engineer.
+     * @param limit The number of engineers to return, capped by app.pagination.max-size.
+     * @return The most similar engineers, most similar first, or 404 Not Found if the engineer is not indexed.
+     */
+    @GetMapping("/engineers/{id}")
+    public ResponseEntity<List<SimilarEngineerDTO>> findSimilar(@PathVariable Integer id,
+                                                                @RequestParam(required = false) Integer limit) {
+        int k = limit == null || limit < 1 ? defaultPageSize : Math.min(limit, maxPageSize);
+        return ResponseEntity.ok(similarityIndex.findSimilar(id, k));
+    }
+
+    /**
+     * Starts rebuilding the similarity index from the database in the background.
+     *
+     * @return 202 Accepted; progress is reported by the index endpoint.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        similarityIndex.rebuild();
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Reports the embedding model and the size of the similarity index.
+     *
+     * @return The index statistics.
+     */
+    @GetMapping("/index")
+    public ResponseEntity<SimilarityIndexStatsDTO> stats() {
+        return ResponseEntity.ok(similarityIndex.stats());
+    }
+}
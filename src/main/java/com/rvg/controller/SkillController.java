@@ -0,0 +1,82 @@
+package com.rvg.controller;
+
+import com.rvg.dto.SkillCoverageDTO;
+import com.rvg.dto.SkillIndexStatsDTO;
+import com.rvg.dto.SkillMatchDTO;
+import com.rvg.service.SkillIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for team matching by skill, answered from the in-memory skill index.
+ * Returns engineer IDs only; details are read through the Software Engineer endpoints.
+ */
+@RestController
+@RequestMapping("api/v1/skills")
+public class SkillController {
+
+    private final SkillIndex skillIndex;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public SkillController(SkillIndex skillIndex,
+                           @Value("${app.pagination.default-size:20}") int defaultPageSize,
+                           @Value("${app.pagination.max-size:100}") int maxPageSize) {
+        this.skillIndex = skillIndex;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Finds the engineers who know every skill in all and at least one in any, ordered by ID.
+     * Both parameters accept repeated or comma-separated values and match case-insensitively.
+     *
+     * @param all   Skills every engineer must have.
+     * @param any   Skills of which every engineer must have at least one.
+     * @param after The ID of the last engineer of the previous page (nextCursor).
+     * @param limit The requested page size, capped by app.pagination.max-size.
+     * @return The number of matches and a page of engineer IDs.
+     */
+    @GetMapping("/match")
+    public ResponseEntity<SkillMatchDTO> match(
+            @RequestParam(required = false) List<String> all,
+            @RequestParam(required = false) List<String> any,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(skillIndex.match(all, any, after, pageSize(limit)));
+    }
+
+    /**
+     * Ranks engineers by how many of the given skills they cover, most first.
+     *
+     * @param skills The skills to cover, repeated or comma-separated.
+     * @param limit  The number of engineers to return, capped by app.pagination.max-size.
+     * @return The top engineers with the number of skills each covers.
+     */
+    @GetMapping("/coverage")
+    public ResponseEntity<List<SkillCoverageDTO>> coverage(
+            @RequestParam(required = false) List<String> skills,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(skillIndex.topByCoverage(skills, pageSize(limit)));
+    }
+
+    /**
+     * Reports the size of the skill index, per skill.
+     *
+     * @return The number of indexed engineers and the bitmap bytes of every skill.
+     */
+    @GetMapping("/index")
+    public ResponseEntity<SkillIndexStatsDTO> stats() {
+        return ResponseEntity.ok(skillIndex.stats());
+    }
+
+    private int pageSize(Integer limit) {
+        return limit == null || limit < 1 ? defaultPageSize : Math.min(limit, maxPageSize);
+    }
+}
@@ -1,14 +1,46 @@
 package com.rvg.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rvg.EnrichmentStatus;
 import com.rvg.SoftwareEngineer;
+import com.rvg.dto.BulkImportResult;
+import com.rvg.dto.CursorPage;
+import com.rvg.dto.EngineerVersion;
+import com.rvg.dto.EngineerView;
+import com.rvg.dto.EnrichmentStatusDTO;
+import com.rvg.dto.EntityVersion;
+import com.rvg.dto.LearningPathChunkDTO;
+import com.rvg.dto.LearningPathHitDTO;
+import com.rvg.dto.RankedPage;
 import com.rvg.dto.SoftwareEngineerDTO;
 import com.rvg.dto.SoftwareEngineerMapper;
+import com.rvg.errors.AiUnavailableException;
+import com.rvg.service.BulkImportService;
+import com.rvg.service.EngineerExportService;
+import com.rvg.service.ExportFormat;
 import com.rvg.service.SoftwareEngineerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -19,64 +51,278 @@ import java.util.Objects;
 @RequestMapping("api/v1/software-engineers")
 public class SoftwareEngineerController {
 
+    private static final Logger log = LoggerFactory.getLogger(SoftwareEngineerController.class);
+
     private final SoftwareEngineerService softwareEngineerService;
+    private final EngineerExportService engineerExportService;
+    private final BulkImportService bulkImportService;
+    private final ObjectMapper objectMapper;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public SoftwareEngineerController(SoftwareEngineerService softwareEngineers) {
+    public SoftwareEngineerController(SoftwareEngineerService softwareEngineers,
+                                      EngineerExportService engineerExportService,
+                                      BulkImportService bulkImportService,
+                                      ObjectMapper objectMapper,
+                                      @Value("${app.pagination.default-size:20}") int defaultPageSize,
+                                      @Value("${app.pagination.max-size:100}") int maxPageSize) {
         this.softwareEngineerService = softwareEngineers;
+        this.engineerExportService = engineerExportService;
+        this.bulkImportService = bulkImportService;
+        this.objectMapper = objectMapper;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     /**
-     * Retrieves all Software Engineers.
+     * Retrieves a page of Software Engineers ordered by ID.
+     * The page size is capped by app.pagination.max-size. Learning path recommendations
+     * are left out unless the full view is requested. The ETag is computed from the IDs and versions of the
+     * page items, and the engineers are only loaded when it does not match.
      *
-     * @return A list of Software Engineer DTOs.
+     * @param after      The ID of the last engineer of the previous page (nextCursor).
+     * @param limit      The requested page size.
+     * @param namePrefix Optional case-insensitive name prefix filter.
+     * @param tech       Optional case-insensitive tech stack entry filter.
+     * @param view       The representation: summary (default) or full.
+     * @param request    The current request, for If-None-Match.
+     * @return A page of Software Engineer summary or full DTOs, or 304 Not Modified.
      */
     @GetMapping
-    public ResponseEntity<List<SoftwareEngineerDTO>> getAllEngineers() {
-        List<SoftwareEngineer> engineers = softwareEngineerService.getAllSoftwareEngineers();
-        return ResponseEntity.ok(SoftwareEngineerMapper.toDTOList(engineers));
+    public ResponseEntity<CursorPage<?>> getAllEngineers(
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false) String tech,
+            @RequestParam(defaultValue = "summary") String view,
+            WebRequest request) {
+        EngineerView engineerView = EngineerView.from(view);
+        int pageSize = limit == null || limit < 1 ? defaultPageSize : Math.min(limit, maxPageSize);
+        CursorPage<EngineerVersion> versions = softwareEngineerService.findPageVersions(after, pageSize, namePrefix, tech);
+        return toPageResponse(versions, engineerView, request);
+    }
+
+    /**
+     * Searches Software Engineers by skill, e.g. engineers who know Java and Kafka, and AWS or GCP.
+     * Skills match tech stack entries case-insensitively; both parameters accept repeated or comma-separated values.
+     * Results are ordered by ID and paginated like the list endpoint.
+     *
+     * @param all     Skills every engineer must have.
+     * @param any     Skills of which every engineer must have at least one.
+     * @param after   The ID of the last engineer of the previous page (nextCursor).
+     * @param limit   The requested page size.
+     * @param view    The representation: summary (default) or full.
+     * @param request The current request, for If-None-Match.
+     * @return A page of matching Software Engineer summary or full DTOs, or 304 Not Modified.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<?>> searchEngineers(
+            @RequestParam(required = false) List<String> all,
+            @RequestParam(required = false) List<String> any,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "summary") String view,
+            WebRequest request) {
+        EngineerView engineerView = EngineerView.from(view);
+        int pageSize = limit == null || limit < 1 ? defaultPageSize : Math.min(limit, maxPageSize);
+        CursorPage<EngineerVersion> versions = softwareEngineerService.searchVersionsBySkills(all, any, after, pageSize);
+        return toPageResponse(versions, engineerView, request);
+    }
+
+    /**
+     * Searches learning path recommendations in full text, e.g. q=terraform, most relevant first.
+     * The page size is capped by app.pagination.max-size.
+     *
+     * @param q      A web-search style query: words, "quoted phrases", OR and -excluded words.
+     * @param offset The nextOffset of the previous page.
+     * @param limit  The requested page size.
+     * @return A page of matching engineers with their relevance and a highlighted snippet.
+     */
+    @GetMapping("/learning-paths/search")
+    public ResponseEntity<RankedPage<LearningPathHitDTO>> searchLearningPaths(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit) {
+        int pageSize = limit == null || limit < 1 ? defaultPageSize : Math.min(limit, maxPageSize);
+        return ResponseEntity.ok(softwareEngineerService.searchLearningPaths(q, offset, pageSize));
+    }
+
+    /**
+     * Streams every Software Engineer as NDJSON (default) or CSV.
+     * Rows are written as they are read so the first byte is sent immediately
+     * and memory use does not grow with the table size.
+     *
+     * @param format The export format: ndjson or csv.
+     * @return A streaming response body.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEngineers(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("software-engineers." + exportFormat.getFileExtension())
+                        .build()
+                        .toString())
+                .body(out -> engineerExportService.export(exportFormat, out));
     }
 
     /**
      * Retrieves a Software Engineer by ID.
+     * The learning path recommendations are only read for the full view. Conditional requests are
+     * answered from the engineer's version before the engineer or its recommendations are loaded.
      *
-     * @param id The ID of the Software Engineer.
-     * @return The Software Engineer DTO.
+     * @param id   The ID of the Software Engineer.
+     * @param view    The representation: full (default) or summary.
+     * @param request The current request, for If-None-Match and If-Modified-Since.
+     * @return The Software Engineer full or summary DTO, or 304 Not Modified.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<SoftwareEngineerDTO> getEngineerById(@PathVariable Integer id) {
+    public ResponseEntity<?> getEngineerById(@PathVariable Integer id,
+                                             @RequestParam(defaultValue = "full") String view,
+                                             WebRequest request) {
+        EngineerView engineerView = EngineerView.from(view);
+        EntityVersion version = softwareEngineerService.findVersion(id);
+        long lastModified = version.lastModified() == null ? -1 : version.lastModified().toEpochMilli();
+        if (request.checkNotModified(EngineerETags.of(id, version.version(), engineerView), lastModified)) {
+            return null;
+        }
         SoftwareEngineer engineer = softwareEngineerService.findById(id);
-        return ResponseEntity.ok(SoftwareEngineerMapper.toDTO(engineer));
+        if (engineerView == EngineerView.SUMMARY) {
+            return ResponseEntity.ok(SoftwareEngineerMapper.toSummaryDTO(engineer));
+        }
+        return ResponseEntity.ok(new SoftwareEngineerDTO(engineer, softwareEngineerService.findLearningPath(id)));
+    }
+
+    /**
+     * Retrieves the learning path generation status of a Software Engineer.
+     *
+     * @param id The ID of the Software Engineer.
+     * @return The enrichment status DTO.
+     */
+    @GetMapping("/{id}/status")
+    public ResponseEntity<EnrichmentStatusDTO> getEnrichmentStatus(@PathVariable Integer id) {
+        return ResponseEntity.ok(new EnrichmentStatusDTO(id, softwareEngineerService.getEnrichmentStatus(id)));
+    }
+
+    /**
+     * Streams a freshly generated learning path for a Software Engineer over Server-Sent Events.
+     * Each "chunk" event carries a piece of the text; a final "complete" event is sent once the
+     * assembled text has been stored, or an "error" event if generation fails. The error event carries a
+     * fixed message; the cause is only logged, as provider and database messages may reveal internals.
+     *
+     * @param id The ID of the Software Engineer.
+     * @return The stream of Server-Sent Events.
+     */
+    @GetMapping(value = "/{id}/learning-path/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<LearningPathChunkDTO>> streamLearningPath(@PathVariable Integer id) {
+        return softwareEngineerService.streamLearningPath(id)
+                .map(content -> ServerSentEvent.builder(new LearningPathChunkDTO(content))
+                        .event("chunk")
+                        .build())
+                .concatWith(Mono.just(ServerSentEvent.<LearningPathChunkDTO>builder()
+                        .event("complete")
+                        .build()))
+                .onErrorResume(e -> {
+                    log.warn("Streaming the learning path failed for engineer {}", id, e);
+                    String message = e instanceof AiUnavailableException
+                            ? "AI service is temporarily unavailable"
+                            : "Learning path generation failed";
+                    return Mono.just(ServerSentEvent.builder(new LearningPathChunkDTO(message))
+                            .event("error")
+                            .build());
+                });
     }
 
     /**
      * Creates a new Software Engineer.
+     * When async is true the engineer is saved immediately and the learning path is generated
+     * in the background; the response is 202 Accepted with a link to the status endpoint.
+     * The same response is returned when the AI is unavailable and enrichment had to be deferred.
      *
-     * @param dto The Software Engineer DTO.
-     * @return The created Software Engineer DTO.
+     * @param dto   The Software Engineer DTO.
+     * @param async Whether to generate the learning path in the background.
+     * @return The created Software Engineer DTO, or its enrichment status when not yet enriched.
      */
     @PostMapping
-    public ResponseEntity<SoftwareEngineerDTO> createEngineer(@RequestBody SoftwareEngineerDTO dto) {
+    public ResponseEntity<?> createEngineer(@RequestBody SoftwareEngineerDTO dto,
+                                            @RequestParam(defaultValue = "false") boolean async) {
         SoftwareEngineer entity = SoftwareEngineerMapper.toEntity(dto);
-        SoftwareEngineer saved = softwareEngineerService.save(entity);
+        SoftwareEngineer saved = async
+                ? softwareEngineerService.saveAsync(entity)
+                : softwareEngineerService.save(entity);
+        if (saved.getEnrichmentStatus() != EnrichmentStatus.COMPLETED) {
+            URI statusUri = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                    .replaceQuery(null)
+                    .path("/{id}/status")
+                    .buildAndExpand(saved.getId())
+                    .toUri();
+            return ResponseEntity.accepted()
+                    .location(statusUri)
+                    .body(new EnrichmentStatusDTO(saved.getId(), saved.getEnrichmentStatus()));
+        }
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(SoftwareEngineerMapper.toDTO(saved));
     }
 
     /**
-     * Updates an existing Software Engineer.
+     * Creates many Software Engineers at once from a JSON array or an NDJSON stream.
+     * Engineers are inserted with JDBC batching; learning paths are generated afterwards
+     * by the bounded background pipeline when enrich is true.
+     *
+     * @param body   The request body, a JSON array or one JSON object per line.
+     * @param enrich Whether to generate learning paths for the created engineers.
+     * @return Per-item results and insert throughput.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResult> bulkCreateEngineers(InputStream body,
+                                                                @RequestParam(defaultValue = "true") boolean enrich)
+            throws IOException {
+        try (MappingIterator<SoftwareEngineerDTO> dtos = objectMapper.readerFor(SoftwareEngineerDTO.class).readValues(body)) {
+            return ResponseEntity.ok(bulkImportService.importEngineers(dtos, enrich));
+        }
+    }
+
+    /**
+     * Replaces an existing Software Engineer.
+     * With If-Match set to an ETag of the engineer, the update only applies if the engineer has not
+     * changed since; otherwise the response is 409 Conflict.
      *
-     * @param id  The ID of the Software Engineer to update.
-     * @param dto The Software Engineer DTO with updated information.
-     * @return The updated Software Engineer DTO.
+     * @param id      The ID of the Software Engineer to update.
+     * @param dto     The Software Engineer DTO with updated information.
+     * @param ifMatch Optional ETag the client last saw.
+     * @return The updated Software Engineer DTO with its new ETag.
      */
     @PutMapping("/{id}")
     public ResponseEntity<SoftwareEngineerDTO> updateEngineer(
             @PathVariable Integer id,
-            @RequestBody SoftwareEngineerDTO dto) {
+            @RequestBody SoftwareEngineerDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         SoftwareEngineer entity = SoftwareEngineerMapper.toEntity(dto);
         entity.setId(id);
-        SoftwareEngineer updated = softwareEngineerService.update(entity);
-        return ResponseEntity.ok(SoftwareEngineerMapper.toDTO(updated));
+        SoftwareEngineer updated = softwareEngineerService.update(entity, EngineerETags.versionOf(id, ifMatch));
+        return withVersion(updated).body(SoftwareEngineerMapper.toDTO(updated));
+    }
+
+    /**
+     * Changes only the fields present in the body; absent or null fields are left as they are.
+     * Supports If-Match like the full update.
+     *
+     * @param id      The ID of the Software Engineer to update.
+     * @param dto     The fields to change.
+     * @param ifMatch Optional ETag the client last saw.
+     * @return The updated Software Engineer DTO with its new ETag.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<SoftwareEngineerDTO> patchEngineer(
+            @PathVariable Integer id,
+            @RequestBody SoftwareEngineerDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        SoftwareEngineer updated = softwareEngineerService.patch(id, SoftwareEngineerMapper.toEntity(dto),
+                EngineerETags.versionOf(id, ifMatch));
+        return withVersion(updated).body(SoftwareEngineerMapper.toDTO(updated));
     }
 
     /**
@@ -90,4 +336,27 @@ public class SoftwareEngineerController {
         softwareEngineerService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<CursorPage<?>> toPageResponse(CursorPage<EngineerVersion> versions, EngineerView view,
+                                                         WebRequest request) {
+        if (request.checkNotModified(EngineerETags.of(versions, view))) {
+            return null;
+        }
+        CursorPage<SoftwareEngineer> page = softwareEngineerService.loadPage(versions);
+        if (view == EngineerView.SUMMARY) {
+            return ResponseEntity.ok(page.map(SoftwareEngineerMapper::toSummaryDTO));
+        }
+        Map<Integer, String> learningPaths = softwareEngineerService.findLearningPaths(page.items());
+        return ResponseEntity.ok(page.map(engineer ->
+                new SoftwareEngineerDTO(engineer, learningPaths.get(engineer.getId()))));
+    }
+
+    private static ResponseEntity.BodyBuilder withVersion(SoftwareEngineer engineer) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(EngineerETags.of(engineer.getId(), engineer.getVersion(), EngineerView.FULL));
+        if (engineer.getUpdatedAt() != null) {
+            builder.lastModified(engineer.getUpdatedAt());
+        }
+        return builder;
+    }
 }
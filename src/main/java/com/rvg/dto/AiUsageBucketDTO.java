@@ -0,0 +1,22 @@
+package com.rvg.dto;
+
+import java.time.Instant;
+
+/*
+ * AI usage in one time bucket: calls that reached the provider, those of them that failed, calls rejected
+ * before reaching it (open circuit breaker, rate limiter or full bulkhead), calls answered by replay, tokens, their
+ * estimated cost and the average and 95th percentile latency of the calls that reached the provider.
+ */
+public record AiUsageBucketDTO(
+        Instant start,
+        long calls,
+        long failures,
+        long rejected,
+        long replayed,
+        long promptTokens,
+        long completionTokens,
+        double estimatedCost,
+        double averageLatencyMs,
+        double p95LatencyMs
+) {
+}
@@ -0,0 +1,17 @@
+package com.rvg.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/*
+ * AI usage between from (inclusive) and to (exclusive): the totals, and one bucket per hour or day
+ * in which AI calls were recorded, oldest first.
+ */
+public record AiUsageReportDTO(
+        Instant from,
+        Instant to,
+        String bucket,
+        AiUsageBucketDTO total,
+        List<AiUsageBucketDTO> buckets
+) {
+}
@@ -0,0 +1,18 @@
+package com.rvg.dto;
+
+/*
+ * Outcome of a single item of a bulk import, identified by its position in the request.
+ */
+public record BulkImportItemResult(
+        int index,
+        Integer id,
+        Status status,
+        String error
+) {
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        FAILED
+    }
+}
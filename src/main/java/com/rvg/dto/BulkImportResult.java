@@ -0,0 +1,16 @@
+package com.rvg.dto;
+
+import java.util.List;
+
+/*
+ * Summary of a bulk import: per-item outcomes plus insert throughput.
+ */
+public record BulkImportResult(
+        int received,
+        int created,
+        int failed,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<BulkImportItemResult> items
+) {
+}
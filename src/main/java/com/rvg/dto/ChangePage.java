@@ -0,0 +1,14 @@
+package com.rvg.dto;
+
+import java.util.List;
+
+/*
+ * A page of the change stream, oldest first.
+ * nextSince is the value to pass as "since" to fetch the changes after this page; it is never null,
+ * so consumers can keep polling with it when the page is empty.
+ */
+public record ChangePage(
+        List<EngineerChangeDTO> items,
+        long nextSince
+) {
+}
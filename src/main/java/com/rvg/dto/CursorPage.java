@@ -0,0 +1,18 @@
+package com.rvg.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/*
+ * A page of results from a keyset (cursor) paginated query.
+ * nextCursor is the value to pass as "after" to fetch the next page, or null on the last page.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        Integer nextCursor
+) {
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,16 @@
+package com.rvg.dto;
+
+import com.rvg.ChangeType;
+
+import java.time.Instant;
+
+/*
+ * A published change to a Software Engineer, at its position in the change stream.
+ */
+public record EngineerChangeDTO(
+        long position,
+        Integer engineerId,
+        ChangeType type,
+        Instant occurredAt
+) {
+}
@@ -0,0 +1,10 @@
+package com.rvg.dto;
+
+/*
+ * ID and version of an engineer, read without loading the engineer itself, e.g. to tag a page before loading it.
+ */
+public record EngineerVersion(
+        Integer id,
+        Long version
+) {
+}
@@ -0,0 +1,22 @@
+package com.rvg.dto;
+
+import com.rvg.errors.BadRequestException;
+
+import java.util.Locale;
+
+/*
+ * Representations of a Software Engineer a client can ask for.
+ * SUMMARY leaves out the learning path recommendations, which are then never read from the database.
+ */
+public enum EngineerView {
+    SUMMARY,
+    FULL;
+
+    public static EngineerView from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported view: " + value);
+        }
+    }
+}
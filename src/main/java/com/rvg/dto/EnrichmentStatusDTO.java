@@ -0,0 +1,12 @@
+package com.rvg.dto;
+
+import com.rvg.EnrichmentStatus;
+
+/*
+ * Data Transfer Object (DTO) describing the learning path generation status of a SoftwareEngineer.
+ */
+public record EnrichmentStatusDTO(
+        Integer id,
+        EnrichmentStatus status
+) {
+}
@@ -0,0 +1,12 @@
+package com.rvg.dto;
+
+import java.time.Instant;
+
+/*
+ * Version and last modification time of an entity, read without loading the entity itself.
+ */
+public record EntityVersion(
+        Long version,
+        Instant lastModified
+) {
+}
@@ -0,0 +1,10 @@
+package com.rvg.dto;
+
+/*
+ * Data Transfer Object (DTO) for a piece of a streamed learning path.
+ * Sent as JSON so that leading whitespace and newlines survive the Server-Sent Events framing.
+ */
+public record LearningPathChunkDTO(
+        String content
+) {
+}
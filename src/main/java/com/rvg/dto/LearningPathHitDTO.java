@@ -0,0 +1,14 @@
+package com.rvg.dto;
+
+/*
+ * A learning path matching a full-text search: the engineer, its relevance (0 to 1)
+ * and a snippet of the recommendations with the matched terms wrapped in <mark> tags;
+ * the rest of the snippet is HTML-escaped.
+ */
+public record LearningPathHitDTO(
+        Integer engineerId,
+        String name,
+        double rank,
+        String snippet
+) {
+}
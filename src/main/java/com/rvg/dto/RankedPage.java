@@ -0,0 +1,13 @@
+package com.rvg.dto;
+
+import java.util.List;
+
+/*
+ * A page of results ordered by relevance.
+ * nextOffset is the value to pass as "offset" to fetch the next page, or null on the last page.
+ */
+public record RankedPage<T>(
+        List<T> items,
+        Integer nextOffset
+) {
+}
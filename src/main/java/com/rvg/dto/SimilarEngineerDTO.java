@@ -0,0 +1,10 @@
+package com.rvg.dto;
+
+/*
+ * An engineer similar to the one asked about, with the cosine similarity of their embeddings (1 is identical).
+ */
+public record SimilarEngineerDTO(
+        Integer engineerId,
+        double similarity
+) {
+}
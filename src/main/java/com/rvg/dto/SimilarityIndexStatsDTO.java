@@ -0,0 +1,14 @@
+package com.rvg.dto;
+
+/*
+ * State of the engineer similarity index: the embedding model, the engineers indexed,
+ * the engineers waiting to be embedded and whether a rebuild is running.
+ */
+public record SimilarityIndexStatsDTO(
+        String model,
+        int dimensions,
+        int engineers,
+        int pending,
+        boolean rebuilding
+) {
+}
@@ -0,0 +1,10 @@
+package com.rvg.dto;
+
+/*
+ * An engineer and how many of the requested skills they cover.
+ */
+public record SkillCoverageDTO(
+        Integer engineerId,
+        int covered
+) {
+}
@@ -0,0 +1,20 @@
+package com.rvg.dto;
+
+import java.util.List;
+
+/*
+ * Size of the in-memory skill index: engineers and bitmap bytes per skill, largest first.
+ */
+public record SkillIndexStatsDTO(
+        int engineers,
+        long bitmapBytes,
+        List<SkillStats> skills
+) {
+
+    public record SkillStats(
+            String skill,
+            int engineers,
+            long bitmapBytes
+    ) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.rvg.dto;
+
+import java.util.List;
+
+/*
+ * A page of the IDs of engineers matching a skill query, answered from the in-memory skill index.
+ * total counts every match; nextCursor is the value to pass as "after" for the next page, or null on the last page.
+ */
+public record SkillMatchDTO(
+        int total,
+        List<Integer> engineerIds,
+        Integer nextCursor
+) {
+}
@@ -16,11 +16,15 @@ public record SoftwareEngineerDTO(
 ) {
 
     public SoftwareEngineerDTO(SoftwareEngineer engineer) {
+        this(engineer, engineer.getLearningPathRecommendations());
+    }
+
+    public SoftwareEngineerDTO(SoftwareEngineer engineer, String learningPathRecommendations) {
         this(
                 engineer.getId(),
                 engineer.getName(),
                 engineer.getTechStack(),
-                engineer.getLearningPathRecommendations()
+                learningPathRecommendations
         );
     }
 }
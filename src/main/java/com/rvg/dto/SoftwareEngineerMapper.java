@@ -13,6 +13,10 @@ public class SoftwareEngineerMapper {
         return new SoftwareEngineerDTO(engineer);
     }
 
+    public static SoftwareEngineerSummaryDTO toSummaryDTO(SoftwareEngineer engineer) {
+        return new SoftwareEngineerSummaryDTO(engineer);
+    }
+
     /* Converts a SoftwareEngineerDTO to a SoftwareEngineer entity.
      *
      * @param dto The SoftwareEngineerDTO to convert.
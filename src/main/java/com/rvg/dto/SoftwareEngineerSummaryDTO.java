@@ -0,0 +1,23 @@
+package com.rvg.dto;
+
+import com.rvg.SoftwareEngineer;
+
+import java.util.List;
+
+/*
+ * Summary view of a SoftwareEngineer, without the learning path recommendations.
+ */
+public record SoftwareEngineerSummaryDTO(
+        Integer id,
+        String name,
+        List<String> techStack
+) {
+
+    public SoftwareEngineerSummaryDTO(SoftwareEngineer engineer) {
+        this(
+                engineer.getId(),
+                engineer.getName(),
+                engineer.getTechStack()
+        );
+    }
+}
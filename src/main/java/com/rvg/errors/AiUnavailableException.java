@@ -0,0 +1,11 @@
+package com.rvg.errors;
+
+/*
+ * Thrown when the AI provider cannot be called right now: the circuit breaker is open, the call was
+ * throttled or timed out, or the provider kept answering 429/5xx after retries. Callers may try again later.
+ */
+public class AiUnavailableException extends RuntimeException {
+    public AiUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
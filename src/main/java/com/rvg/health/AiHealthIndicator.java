@@ -0,0 +1,51 @@
+package com.rvg.health;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Reachability of the AI provider, checked in the background by listing its models,
+ * which costs no tokens. Not part of readiness: the API keeps serving while the AI is down,
+ * and the "ai" circuit breaker is what decides when calls stop being attempted.
+ */
+@Component
+public class AiHealthIndicator extends CachedHealthIndicator {
+
+    private final RestClient restClient;
+
+    @Autowired
+    public AiHealthIndicator(RestClient.Builder restClientBuilder,
+                             @Value("${spring.ai.openai.base-url}") String baseUrl,
+                             @Value("${spring.ai.openai.api-key}") String apiKey,
+                             @Value("${app.health.interval:10s}") Duration interval,
+                             @Value("${app.health.timeout:2s}") Duration timeout) {
+        super(interval, Clock.systemUTC());
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(timeout).build());
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = restClientBuilder
+                .baseUrl(baseUrl)
+                .defaultHeader("Authorization", "Bearer " + apiKey)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    @Override
+    protected Health check() {
+        return restClient.get()
+                .uri("/v1/models")
+                .exchange((request, response) -> {
+                    int status = response.getStatusCode().value();
+                    Health.Builder builder = response.getStatusCode().is2xxSuccessful() ? Health.up() : Health.down();
+                    return builder.withDetail("status", status).build();
+                });
+    }
+}
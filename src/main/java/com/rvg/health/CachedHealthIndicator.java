@@ -0,0 +1,66 @@
+package com.rvg.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Health indicator whose check runs on a background schedule (app.health.interval).
+ * Requests to the health endpoints only read the last result, so polling them never touches the
+ * checked resource. A result older than three intervals is reported as DOWN, since it means the
+ * check itself is stuck.
+ */
+public abstract class CachedHealthIndicator implements HealthIndicator {
+
+    private final Duration maxAge;
+    private final Clock clock;
+    private volatile Health health = Health.unknown().withDetail("reason", "Not checked yet").build();
+    private volatile Instant checkedAt;
+
+    protected CachedHealthIndicator(Duration interval, Clock clock) {
+        this.maxAge = interval.multipliedBy(3);
+        this.clock = clock;
+    }
+
+    /**
+     * Checks the resource. Runs on the scheduler thread, never on a request thread.
+     *
+     * @return The health of the resource.
+     */
+    protected abstract Health check();
+
+    @Scheduled(fixedDelayString = "${app.health.interval}")
+    public void refresh() {
+        Health result;
+        try {
+            result = check();
+        } catch (Exception e) {
+            result = Health.down(e).build();
+        }
+        health = result;
+        checkedAt = clock.instant();
+    }
+
+    @Override
+    public Health health() {
+        Health cached = health;
+        Instant at = checkedAt;
+        if (at == null) {
+            return cached;
+        }
+        if (at.plus(maxAge).isBefore(clock.instant())) {
+            return Health.down()
+                    .withDetail("reason", "Last check is stale")
+                    .withDetail("checkedAt", at.toString())
+                    .build();
+        }
+        return Health.status(cached.getStatus())
+                .withDetails(cached.getDetails())
+                .withDetail("checkedAt", at.toString())
+                .build();
+    }
+}
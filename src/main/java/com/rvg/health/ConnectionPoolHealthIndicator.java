@@ -0,0 +1,46 @@
+package com.rvg.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Saturation of the Hikari connection pool, read from the pool's own counters, so it never takes a connection.
+ * Reports OUT_OF_SERVICE while every connection is in use and requests are queuing for one,
+ * which takes the instance out of readiness until the pool drains.
+ */
+@Component
+public class ConnectionPoolHealthIndicator implements HealthIndicator {
+
+    private final HikariDataSource hikariDataSource;
+
+    public ConnectionPoolHealthIndicator(DataSource dataSource) throws SQLException {
+        this.hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+    }
+
+    @Override
+    public Health health() {
+        HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return Health.unknown().withDetail("reason", "Pool not started").build();
+        }
+        int active = pool.getActiveConnections();
+        int idle = pool.getIdleConnections();
+        int pending = pool.getThreadsAwaitingConnection();
+        int max = hikariDataSource.getMaximumPoolSize();
+        Health.Builder builder = idle == 0 && active >= max && pending > 0
+                ? Health.outOfService().withDetail("reason", "Connection pool exhausted")
+                : Health.up();
+        return builder
+                .withDetail("active", active)
+                .withDetail("idle", idle)
+                .withDetail("pending", pending)
+                .withDetail("max", max)
+                .build();
+    }
+}
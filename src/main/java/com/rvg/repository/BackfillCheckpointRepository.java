@@ -0,0 +1,28 @@
+package com.rvg.repository;
+
+import com.rvg.BackfillCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface BackfillCheckpointRepository extends JpaRepository<BackfillCheckpoint, String> {
+
+    /* Never moves backwards, so nodes finishing their chunks out of order keep the furthest position. */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into backfill_checkpoint (job, last_id, updated_at) values (:job, :lastId, :now)
+            on conflict (job) do update
+            set last_id = greatest(backfill_checkpoint.last_id, excluded.last_id), updated_at = excluded.updated_at""",
+            nativeQuery = true)
+    int advance(@Param("job") String job, @Param("lastId") int lastId, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("update BackfillCheckpoint c set c.lastId = 0, c.updatedAt = :now where c.job = :job")
+    int reset(@Param("job") String job, @Param("now") Instant now);
+}
@@ -0,0 +1,39 @@
+package com.rvg.repository;
+
+import com.rvg.EngineerChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface EngineerChangeRepository extends JpaRepository<EngineerChange, Long> {
+
+    /* Answered by the partial index idx_engineer_change_unpublished (see import.sql). */
+    List<EngineerChange> findByPositionIsNullOrderById(Limit limit);
+
+    List<EngineerChange> findByPositionGreaterThanOrderByPosition(long position, Limit limit);
+
+    @Query("select coalesce(max(c.position), 0) from EngineerChange c")
+    long findMaxPosition();
+
+    /*
+     * Keeps the last published change whatever its age, so findMaxPosition, and with it the numbering,
+     * never goes back. Answered by the BRIN index idx_engineer_change_published_at (see import.sql).
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            delete from EngineerChange c
+            where c.publishedAt < :before
+              and c.position < (select max(p.position) from EngineerChange p)""")
+    int deletePublishedBefore(@Param("before") Instant before);
+
+    /* Held until the end of the transaction; false if another relay holds it. */
+    @Query(value = "select pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("key") long key);
+}
@@ -0,0 +1,61 @@
+package com.rvg.repository;
+
+import com.rvg.LearningPath;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface LearningPathRepository extends JpaRepository<LearningPath, Integer> {
+
+    List<Recommendation> findByEngineerIdIn(Collection<Integer> engineerIds);
+
+    /*
+     * Native, because search_vector is a generated column (see import.sql) that the entity does not map.
+     * The page is ranked and cut in the inner query, so ts_headline only runs for the rows returned.
+     * Matches are delimited with the STX and ETX control characters rather than HTML, because the
+     * recommendations are model output: the snippet is escaped before the markers become <mark> tags.
+     */
+    @Query(value = """
+            select h.engineer_id as engineerId, e.name as name, h.rank as rank,
+                   ts_headline('english', lp.recommendations, websearch_to_tsquery('english', :query),
+                               'MaxFragments=2, MinWords=5, MaxWords=20, StartSel=' || chr(2) || ', StopSel=' || chr(3))
+                       as snippet
+            from (select software_engineer_id as engineer_id,
+                         cast(ts_rank_cd(search_vector, websearch_to_tsquery('english', :query), 32)
+                              as double precision) as rank
+                  from learning_path
+                  where search_vector @@ websearch_to_tsquery('english', :query)
+                  order by rank desc, software_engineer_id
+                  limit :limit offset :offset) h
+            join learning_path lp on lp.software_engineer_id = h.engineer_id
+            join software_engineer e on e.id = h.engineer_id
+            order by h.rank desc, h.engineer_id""", nativeQuery = true)
+    List<SearchHit> search(@Param("query") String query, @Param("offset") int offset, @Param("limit") int limit);
+
+    /*
+     * Read-only projection of a learning path, so bulk lookups do not fill the persistence context.
+     */
+    interface Recommendation {
+
+        Integer getEngineerId();
+
+        String getRecommendations();
+    }
+
+    /*
+     * Read-only projection of a full-text search match.
+     */
+    interface SearchHit {
+
+        Integer getEngineerId();
+
+        String getName();
+
+        Double getRank();
+
+        String getSnippet();
+    }
+}
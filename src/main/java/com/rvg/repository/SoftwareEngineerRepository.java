@@ -1,9 +1,208 @@
 package com.rvg.repository;
 
+import com.rvg.EnrichmentStatus;
 import com.rvg.SoftwareEngineer;
+import com.rvg.dto.EngineerVersion;
+import com.rvg.dto.EntityVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface SoftwareEngineerRepository extends JpaRepository<SoftwareEngineer, Integer> {
 
+    @Override
+    @EntityGraph(attributePaths = "techStack")
+    Optional<SoftwareEngineer> findById(Integer id);
+
+    @Query("""
+            select e from SoftwareEngineer e
+            where e.id > :after
+              and (:namePattern is null or lower(e.name) like :namePattern escape '\\')
+              and (:tech is null or exists (
+                    select 1 from SoftwareEngineer s join s.techStack t
+                    where s.id = e.id and lower(t) = :tech))
+            order by e.id""")
+    List<SoftwareEngineer> findPage(@Param("after") int after,
+                                    @Param("namePattern") String namePattern,
+                                    @Param("tech") String tech,
+                                    Limit limit);
+
+    /* array_includes renders as skills @> :all on PostgreSQL, which the GIN index on skills answers. */
+    @Query("""
+            select e from SoftwareEngineer e
+            where e.id > :after and array_includes(e.skills, :all)
+            order by e.id""")
+    List<SoftwareEngineer> findBySkillsIncludingAll(@Param("after") int after,
+                                                    @Param("all") String[] all,
+                                                    Limit limit);
+
+    /* Adds skills && :any; an empty :all matches every engineer. */
+    @Query("""
+            select e from SoftwareEngineer e
+            where e.id > :after and array_includes(e.skills, :all) and array_intersects(e.skills, :any)
+            order by e.id""")
+    List<SoftwareEngineer> findBySkillsIncludingAllAndAny(@Param("after") int after,
+                                                          @Param("all") String[] all,
+                                                          @Param("any") String[] any,
+                                                          Limit limit);
+
+    /* The id and version columns of the findPage rows, to compare a page's ETag before loading it. */
+    @Query("""
+            select new com.rvg.dto.EngineerVersion(e.id, e.version) from SoftwareEngineer e
+            where e.id > :after
+              and (:namePattern is null or lower(e.name) like :namePattern escape '\\')
+              and (:tech is null or exists (
+                    select 1 from SoftwareEngineer s join s.techStack t
+                    where s.id = e.id and lower(t) = :tech))
+            order by e.id""")
+    List<EngineerVersion> findPageVersions(@Param("after") int after,
+                                           @Param("namePattern") String namePattern,
+                                           @Param("tech") String tech,
+                                           Limit limit);
+
+    @Query("""
+            select new com.rvg.dto.EngineerVersion(e.id, e.version) from SoftwareEngineer e
+            where e.id > :after and array_includes(e.skills, :all)
+            order by e.id""")
+    List<EngineerVersion> findVersionsBySkillsIncludingAll(@Param("after") int after,
+                                                           @Param("all") String[] all,
+                                                           Limit limit);
+
+    @Query("""
+            select new com.rvg.dto.EngineerVersion(e.id, e.version) from SoftwareEngineer e
+            where e.id > :after and array_includes(e.skills, :all) and array_intersects(e.skills, :any)
+            order by e.id""")
+    List<EngineerVersion> findVersionsBySkillsIncludingAllAndAny(@Param("after") int after,
+                                                                 @Param("all") String[] all,
+                                                                 @Param("any") String[] any,
+                                                                 Limit limit);
+
+    List<SoftwareEngineer> findByIdInOrderById(Collection<Integer> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from SoftwareEngineer e left join fetch e.techStack order by e.id")
+    Stream<SoftwareEngineer> streamAllWithTechStack();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e.id as id, e.version as version, e.skills as skills from SoftwareEngineer e")
+    Stream<SkillRow> streamSkills();
+
+    @Query("""
+            select count(e) as engineers, coalesce(sum(e.id), 0) as idSum, coalesce(sum(e.version), 0) as versionSum
+            from SoftwareEngineer e""")
+    TableSnapshot findSnapshot();
+
+    @Query("select e.enrichmentStatus from SoftwareEngineer e where e.id = :id")
+    Optional<EnrichmentStatus> findEnrichmentStatusById(@Param("id") Integer id);
+
+    @Query("select new com.rvg.dto.EntityVersion(e.version, e.updatedAt) from SoftwareEngineer e where e.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Integer id);
+
+    /* Bulk updates bypass Hibernate's versioning, so the version and timestamp are bumped explicitly. */
+    @Transactional
+    @Modifying
+    @Query("""
+            update SoftwareEngineer e
+            set e.enrichmentStatus = :status, e.version = e.version + 1, e.updatedAt = :now
+            where e.id = :id""")
+    int updateEnrichmentStatus(@Param("id") Integer id, @Param("status") EnrichmentStatus status,
+                               @Param("now") Instant now);
+
+    default int updateEnrichmentStatus(Integer id, EnrichmentStatus status) {
+        return updateEnrichmentStatus(id, status, Instant.now());
+    }
+
+    /*
+     * Engineers without a learning path, in id order, that no backfill holds a lease on, whose backfill has failed
+     * fewer than maxAttempts times and that have not been written since changedBefore (so the pipeline is not
+     * still generating theirs). FOR UPDATE SKIP LOCKED makes
+     * concurrent claims on other nodes skip these rows until the claiming transaction commits the lease.
+     */
+    @Query(value = """
+            select e.id from software_engineer e
+            where e.id > :after
+              and not exists (select 1 from learning_path lp where lp.software_engineer_id = e.id)
+              and (e.backfill_lease_until is null or e.backfill_lease_until < :now)
+              and e.backfill_attempts < :maxAttempts
+              and e.updated_at < :changedBefore
+            order by e.id
+            limit :limit
+            for update of e skip locked""", nativeQuery = true)
+    List<Integer> lockBackfillCandidates(@Param("after") int after,
+                                         @Param("now") Instant now,
+                                         @Param("changedBefore") Instant changedBefore,
+                                         @Param("maxAttempts") int maxAttempts,
+                                         @Param("limit") int limit);
+
+    /* A null leaseUntil releases the lease. */
+    @Transactional
+    @Modifying
+    @Query("update SoftwareEngineer e set e.backfillLeaseUntil = :leaseUntil where e.id in :ids")
+    int leaseForBackfill(@Param("ids") Collection<Integer> ids, @Param("leaseUntil") Instant leaseUntil);
+
+    /* Like the lease, not a change to the engineer, so the version stays. */
+    @Transactional
+    @Modifying
+    @Query("update SoftwareEngineer e set e.backfillAttempts = e.backfillAttempts + 1 where e.id in :ids")
+    int recordBackfillFailure(@Param("ids") Collection<Integer> ids);
+
+    @Query(value = """
+            select count(*) from software_engineer e
+            where not exists (select 1 from learning_path lp where lp.software_engineer_id = e.id)
+              and e.backfill_attempts < :maxAttempts""",
+            nativeQuery = true)
+    long countWithoutLearningPath(@Param("maxAttempts") int maxAttempts);
+
+    /*
+     * Native, because Hibernate clears collection tables with a statement of their own before a JPQL delete;
+     * here the tech stack and learning path rows are removed by ON DELETE CASCADE, so this is one statement.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "delete from software_engineer where id = :id", nativeQuery = true)
+    int deleteByIdReturningCount(@Param("id") Integer id);
+
+    /*
+     * Read-only projection of an engineer's normalized skills, for building the in-memory skill index.
+     */
+    interface SkillRow {
+
+        Integer getId();
+
+        Long getVersion();
+
+        String[] getSkills();
+    }
+
+    /*
+     * Number of engineers and the sums of their IDs and versions, to tell whether an index saved earlier is
+     * still current: a delete followed by an insert changes the ID sum, and every update bumps a version.
+     */
+    interface TableSnapshot {
+
+        long getEngineers();
+
+        long getIdSum();
 
+        long getVersionSum();
+    }
 }
@@ -0,0 +1,198 @@
+package com.rvg.service;
+
+import com.rvg.ChangeType;
+import com.rvg.EnrichmentStatus;
+import com.rvg.SoftwareEngineer;
+import com.rvg.dto.BulkImportItemResult;
+import com.rvg.dto.BulkImportResult;
+import com.rvg.dto.SoftwareEngineerDTO;
+import com.rvg.dto.SoftwareEngineerMapper;
+import com.rvg.repository.SoftwareEngineerRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Service class for importing many Software Engineers at once.
+ * Engineers are inserted in chunks, one transaction per chunk that also records their CREATED
+ * changes in the ChangeOutbox, so Hibernate can send JDBC batches; learning paths are then
+ * generated by the bounded LearningPathPipeline. When a chunk fails, its engineers are inserted
+ * one per transaction, so only the rows that break a constraint are reported as FAILED.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+
+    private final SoftwareEngineerRepository softwareEngineerRepository;
+    private final LearningPathPipeline learningPathPipeline;
+    private final SkillIndex skillIndex;
+    private final SimilarityIndex similarityIndex;
+    private final ChangeOutbox changeOutbox;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ExecutorService enrichmentExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bulk-import-enrichment-", 0).factory());
+
+    public BulkImportService(SoftwareEngineerRepository softwareEngineerRepository,
+                             LearningPathPipeline learningPathPipeline,
+                             SkillIndex skillIndex,
+                             SimilarityIndex similarityIndex,
+                             ChangeOutbox changeOutbox,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.bulk-import.chunk-size:500}") int chunkSize) {
+        this.softwareEngineerRepository = softwareEngineerRepository;
+        this.learningPathPipeline = learningPathPipeline;
+        this.skillIndex = skillIndex;
+        this.similarityIndex = similarityIndex;
+        this.changeOutbox = changeOutbox;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports Software Engineers read from the given iterator.
+     *
+     * @param dtos   The Software Engineer DTOs to import, in request order.
+     * @param enrich Whether to queue learning path generation for the created engineers.
+     * @return The per-item results and insert throughput.
+     */
+    public BulkImportResult importEngineers(Iterator<SoftwareEngineerDTO> dtos, boolean enrich) {
+        long start = System.nanoTime();
+        List<BulkImportItemResult> results = new ArrayList<>();
+        List<SoftwareEngineer> created = new ArrayList<>();
+        List<SoftwareEngineerDTO> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        while (true) {
+            SoftwareEngineerDTO dto;
+            try {
+                if (!dtos.hasNext()) {
+                    break;
+                }
+                dto = dtos.next();
+            } catch (RuntimeException e) {
+                results.add(new BulkImportItemResult(index, null, BulkImportItemResult.Status.INVALID, e.getMessage()));
+                break;
+            }
+
+            if (dto == null || dto.name() == null || dto.name().isBlank()) {
+                results.add(new BulkImportItemResult(index++, null, BulkImportItemResult.Status.INVALID, "name is required"));
+                continue;
+            }
+            chunk.add(dto);
+            chunkIndexes.add(index++);
+
+            if (chunk.size() == chunkSize) {
+                insertChunk(chunk, chunkIndexes, results, created);
+            }
+        }
+        insertChunk(chunk, chunkIndexes, results, created);
+
+        long elapsedNanos = System.nanoTime() - start;
+        if (enrich && !created.isEmpty()) {
+            try {
+                enrichmentExecutor.execute(() -> enrich(created));
+            } catch (RejectedExecutionException e) {
+                log.warn("Bulk import enrichment not started, {} engineers stay PENDING", created.size(), e);
+            }
+        }
+
+        results.sort((a, b) -> Integer.compare(a.index(), b.index()));
+        int failed = results.size() - created.size();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return new BulkImportResult(results.size(), created.size(), failed,
+                elapsedNanos / 1_000_000,
+                seconds > 0 ? created.size() / seconds : created.size(),
+                results);
+    }
+
+    private void insertChunk(List<SoftwareEngineerDTO> chunk, List<Integer> chunkIndexes,
+                             List<BulkImportItemResult> results, List<SoftwareEngineer> created) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<SoftwareEngineer> inserted = new ArrayList<>(chunk.size());
+        try {
+            List<SoftwareEngineer> engineers = chunk.stream().map(BulkImportService::toEntity).toList();
+            insert(engineers);
+            for (int i = 0; i < engineers.size(); i++) {
+                results.add(new BulkImportItemResult(chunkIndexes.get(i), engineers.get(i).getId(),
+                        BulkImportItemResult.Status.CREATED, null));
+            }
+            inserted.addAll(engineers);
+        } catch (RuntimeException e) {
+            log.warn("Bulk import chunk of {} engineers failed, inserting them one by one", chunk.size(), e);
+            // Entities of the rolled back chunk may hold ids and versions that were never committed, so rebuild them
+            for (int i = 0; i < chunk.size(); i++) {
+                SoftwareEngineer engineer = toEntity(chunk.get(i));
+                try {
+                    insert(List.of(engineer));
+                    results.add(new BulkImportItemResult(chunkIndexes.get(i), engineer.getId(),
+                            BulkImportItemResult.Status.CREATED, null));
+                    inserted.add(engineer);
+                } catch (RuntimeException rowError) {
+                    results.add(new BulkImportItemResult(chunkIndexes.get(i), null,
+                            BulkImportItemResult.Status.FAILED, rowError.getMessage()));
+                }
+            }
+        }
+        if (!inserted.isEmpty()) {
+            created.addAll(inserted);
+            skillIndex.putAll(inserted);
+            similarityIndex.refreshAll(inserted);
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    private void insert(List<SoftwareEngineer> engineers) {
+        transactionTemplate.executeWithoutResult(status -> {
+            softwareEngineerRepository.saveAll(engineers);
+            changeOutbox.recordAll(engineers, ChangeType.CREATED);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private static SoftwareEngineer toEntity(SoftwareEngineerDTO dto) {
+        SoftwareEngineer engineer = SoftwareEngineerMapper.toEntity(dto);
+        engineer.setId(null);
+        engineer.setTechStack(dto.techStack());
+        engineer.setLearningPathRecommendations(null);
+        engineer.setEnrichmentStatus(EnrichmentStatus.PENDING);
+        return engineer;
+    }
+
+    private void enrich(List<SoftwareEngineer> engineers) {
+        try {
+            learningPathPipeline.submitAll(engineers);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Bulk import enrichment interrupted, remaining engineers stay PENDING");
+        } catch (RuntimeException e) {
+            log.warn("Bulk import enrichment failed, remaining engineers stay PENDING", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        enrichmentExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,122 @@
+package com.rvg.service;
+
+import com.rvg.EngineerChange;
+import com.rvg.repository.EngineerChangeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Publishes the changes recorded in the ChangeOutbox to the ChangeEventSink, every app.outbox.relay-interval,
+ * in batches of at most app.outbox.batch-size, oldest first.
+ * <p>
+ * Each batch is published and numbered in one transaction holding a PostgreSQL advisory lock, so only one node
+ * relays at a time and positions are assigned in the order changes are published: a change committed late with
+ * a low ID simply gets the next position. Positions therefore never appear behind a consumer's "since", and
+ * reading the change stream from a position misses nothing. If the sink fails, the transaction rolls back and
+ * the batch is published again on the next run.
+ * Published changes are counted as outbox.published and failed batches as outbox.failures.
+ * <p>
+ * Every app.outbox.purge-interval, changes published more than app.outbox.retention ago are deleted, except the
+ * last one, which the numbering continues from. Consumers further behind than that miss the deleted changes.
+ */
+@Component
+public class ChangeEventRelay {
+
+    /* Arbitrary key of the advisory lock; must not be used for anything else. */
+    static final long LOCK_KEY = 0x6f7574626f78L;
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventRelay.class);
+
+    private final EngineerChangeRepository engineerChangeRepository;
+    private final ChangeEventSink changeEventSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+    private final Counter published;
+    private final Counter failures;
+
+    public ChangeEventRelay(EngineerChangeRepository engineerChangeRepository,
+                            ChangeEventSink changeEventSink,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.outbox.batch-size:500}") int batchSize,
+                            @Value("${app.outbox.retention:7d}") Duration retention) {
+        this.engineerChangeRepository = engineerChangeRepository;
+        this.changeEventSink = changeEventSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.published = Counter.builder("outbox.published")
+                .description("Engineer changes published to the change event sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("outbox.failures")
+                .description("Batches of engineer changes that could not be published")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes every recorded change not published yet, batch by batch.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval:1s}")
+    public void relay() {
+        try {
+            int count;
+            do {
+                count = relayBatch();
+            } while (count == batchSize);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Publishing engineer changes failed, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Deletes the changes published longer than app.outbox.retention ago.
+     */
+    @Scheduled(initialDelayString = "${app.outbox.purge-interval:1h}", fixedDelayString = "${app.outbox.purge-interval:1h}")
+    public void purge() {
+        try {
+            int purged = engineerChangeRepository.deletePublishedBefore(Instant.now().minus(retention));
+            if (purged > 0) {
+                log.info("Purged {} engineer changes published more than {} ago", purged, retention);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Purging published engineer changes failed, retrying on the next run", e);
+        }
+    }
+
+    /* Returns the number of changes published; 0 if there were none or another node is relaying. */
+    int relayBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            if (!engineerChangeRepository.tryAdvisoryLock(LOCK_KEY)) {
+                return 0;
+            }
+            List<EngineerChange> changes = engineerChangeRepository.findByPositionIsNullOrderById(Limit.of(batchSize));
+            if (changes.isEmpty()) {
+                return 0;
+            }
+            long position = engineerChangeRepository.findMaxPosition();
+            Instant now = Instant.now();
+            for (EngineerChange change : changes) {
+                change.publish(++position, now);
+            }
+            changeEventSink.publish(changes.stream().map(ChangeOutbox::toDTO).toList());
+            return changes.size();
+        });
+        int relayed = count == null ? 0 : count;
+        published.increment(relayed);
+        return relayed;
+    }
+}
@@ -0,0 +1,20 @@
+package com.rvg.service;
+
+import com.rvg.dto.EngineerChangeDTO;
+
+import java.util.List;
+
+/**
+ * Destination of the engineer change stream, e.g. a message broker, a search indexer or a file.
+ * Delivery is at least once: a batch whose publication fails, or whose positions could not be committed
+ * afterwards, is published again, so implementations should ignore positions they have already seen.
+ */
+public interface ChangeEventSink {
+
+    /**
+     * Publishes a batch of changes. Throwing makes the relay publish the same batch again later.
+     *
+     * @param changes The changes, in position order.
+     */
+    void publish(List<EngineerChangeDTO> changes);
+}
@@ -0,0 +1,77 @@
+package com.rvg.service;
+
+import com.rvg.ChangeType;
+import com.rvg.EngineerChange;
+import com.rvg.SoftwareEngineer;
+import com.rvg.dto.ChangePage;
+import com.rvg.dto.EngineerChangeDTO;
+import com.rvg.repository.EngineerChangeRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Transactional outbox of engineer changes. Writers record a change inside the transaction that makes it,
+ * so a change is recorded if and only if it is committed. ChangeEventRelay later publishes recorded changes
+ * to the ChangeEventSink and numbers them; published changes can be read back from any position.
+ */
+@Component
+public class ChangeOutbox {
+
+    private final EngineerChangeRepository engineerChangeRepository;
+
+    public ChangeOutbox(EngineerChangeRepository engineerChangeRepository) {
+        this.engineerChangeRepository = engineerChangeRepository;
+    }
+
+    /**
+     * Records a change to a Software Engineer. Must be called inside the transaction that makes the change.
+     *
+     * @param engineerId The ID of the Software Engineer.
+     * @param type       The kind of change.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Integer engineerId, ChangeType type) {
+        engineerChangeRepository.save(new EngineerChange(engineerId, type, Instant.now()));
+    }
+
+    /**
+     * Records the same kind of change to several Software Engineers. Must be called inside the
+     * transaction that makes the changes.
+     *
+     * @param engineers The Software Engineers, with their IDs assigned.
+     * @param type      The kind of change.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(Collection<SoftwareEngineer> engineers, ChangeType type) {
+        Instant now = Instant.now();
+        engineerChangeRepository.saveAll(engineers.stream()
+                .map(engineer -> new EngineerChange(engineer.getId(), type, now))
+                .toList());
+    }
+
+    /**
+     * Reads published changes after a position of the change stream, oldest first.
+     *
+     * @param since The position to read after; 0 reads from the beginning.
+     * @param limit The maximum number of changes to return.
+     * @return The changes and the position to read after next.
+     */
+    public ChangePage findSince(long since, int limit) {
+        List<EngineerChangeDTO> changes = engineerChangeRepository
+                .findByPositionGreaterThanOrderByPosition(since, Limit.of(limit)).stream()
+                .map(ChangeOutbox::toDTO)
+                .toList();
+        return new ChangePage(changes, changes.isEmpty() ? since : changes.getLast().position());
+    }
+
+    static EngineerChangeDTO toDTO(EngineerChange change) {
+        return new EngineerChangeDTO(change.getPosition(), change.getEngineerId(), change.getType(),
+                change.getOccurredAt());
+    }
+}
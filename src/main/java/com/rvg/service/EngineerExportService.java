@@ -0,0 +1,136 @@
+package com.rvg.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rvg.SoftwareEngineer;
+import com.rvg.dto.SoftwareEngineerDTO;
+import com.rvg.repository.SoftwareEngineerRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Service class for exporting all Software Engineers.
+ * Rows are read through a forward-only cursor and written in small batches, looking up the
+ * learning paths of each batch in one query and detaching every entity once written,
+ * so memory stays flat regardless of table size.
+ */
+@Service
+public class EngineerExportService {
+
+    private static final int BATCH_SIZE = 100;
+    private static final String CSV_HEADER = "id,name,techStack,learningPathRecommendations";
+
+    private final SoftwareEngineerRepository softwareEngineerRepository;
+    private final LearningPathStore learningPathStore;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public EngineerExportService(SoftwareEngineerRepository softwareEngineerRepository,
+                                 LearningPathStore learningPathStore,
+                                 EntityManager entityManager,
+                                 ObjectMapper objectMapper) {
+        this.softwareEngineerRepository = softwareEngineerRepository;
+        this.learningPathStore = learningPathStore;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every Software Engineer to the output stream in the given format.
+     *
+     * @param format The export format.
+     * @param out    The output stream to write to.
+     * @return The number of exported engineers.
+     * @throws IOException if writing to the output stream fails.
+     */
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<SoftwareEngineer> engineers = softwareEngineerRepository.streamAllWithTechStack()) {
+            long count = switch (format) {
+                case NDJSON -> writeNdjson(engineers.iterator(), writer);
+                case CSV -> writeCsv(engineers.iterator(), writer);
+            };
+            writer.flush();
+            return count;
+        }
+    }
+
+    private long writeNdjson(Iterator<SoftwareEngineer> engineers, Writer writer) throws IOException {
+        ObjectWriter objectWriter = objectMapper.writerFor(SoftwareEngineerDTO.class);
+        return writeInBatches(engineers, writer, (engineer, recommendations) -> {
+            writer.write(objectWriter.writeValueAsString(new SoftwareEngineerDTO(engineer, recommendations)));
+            writer.write('\n');
+        });
+    }
+
+    private long writeCsv(Iterator<SoftwareEngineer> engineers, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        writer.flush();
+        return writeInBatches(engineers, writer, (engineer, recommendations) -> {
+            writer.write(String.valueOf(engineer.getId()));
+            writer.write(',');
+            writer.write(csvField(engineer.getName()));
+            writer.write(',');
+            writer.write(csvField(joinTechStack(engineer.getTechStack())));
+            writer.write(',');
+            writer.write(csvField(recommendations));
+            writer.write("\r\n");
+        });
+    }
+
+    /* Writes BATCH_SIZE engineers at a time with one learning path lookup per batch, flushing after each batch. */
+    private long writeInBatches(Iterator<SoftwareEngineer> engineers, Writer writer, RowWriter rowWriter)
+            throws IOException {
+        List<SoftwareEngineer> batch = new ArrayList<>(BATCH_SIZE);
+        long count = 0;
+        while (engineers.hasNext()) {
+            batch.add(engineers.next());
+            if (batch.size() == BATCH_SIZE || !engineers.hasNext()) {
+                Map<Integer, String> recommendations = learningPathStore.findAll(
+                        batch.stream().map(SoftwareEngineer::getId).toList());
+                for (SoftwareEngineer engineer : batch) {
+                    rowWriter.write(engineer, recommendations.get(engineer.getId()));
+                    entityManager.detach(engineer);
+                }
+                count += batch.size();
+                batch.clear();
+                writer.flush();
+            }
+        }
+        return count;
+    }
+
+    private static String joinTechStack(List<String> techStack) {
+        return techStack == null ? null : String.join(";", techStack);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(SoftwareEngineer engineer, String recommendations) throws IOException;
+    }
+
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,45 @@
+package com.rvg.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rvg.dto.EngineerChangeDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends published changes to a file as NDJSON, one change per line, for local consumers such as
+ * tail -f. Each batch is forced to disk before the relay commits its positions.
+ */
+public class FileChangeEventSink implements ChangeEventSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileChangeEventSink(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<EngineerChangeDTO> changes) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC)) {
+                for (EngineerChangeDTO change : changes) {
+                    writer.write(objectMapper.writeValueAsString(change));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append changes to " + path, e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.rvg.service;
+
+import com.rvg.dto.EngineerChangeDTO;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent published changes in memory, for local development and tests.
+ * Changes at positions it has already seen are ignored.
+ */
+public class InMemoryChangeEventSink implements ChangeEventSink {
+
+    private final int capacity;
+    private final Deque<EngineerChangeDTO> changes = new ArrayDeque<>();
+
+    public InMemoryChangeEventSink(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<EngineerChangeDTO> published) {
+        for (EngineerChangeDTO change : published) {
+            if (!changes.isEmpty() && change.position() <= changes.getLast().position()) {
+                continue;
+            }
+            changes.addLast(change);
+            if (changes.size() > capacity) {
+                changes.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Returns the retained changes, oldest first.
+     *
+     * @return At most capacity of the most recent changes.
+     */
+    public synchronized List<EngineerChangeDTO> recent() {
+        return List.copyOf(changes);
+    }
+}
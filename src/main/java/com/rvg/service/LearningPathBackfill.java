@@ -0,0 +1,288 @@
+package com.rvg.service;
+
+import com.rvg.BackfillCheckpoint;
+import com.rvg.SoftwareEngineer;
+import com.rvg.ai.GenerationResult;
+import com.rvg.ai.LearningPathGenerator;
+import com.rvg.errors.AiUnavailableException;
+import com.rvg.repository.BackfillCheckpointRepository;
+import com.rvg.repository.SoftwareEngineerRepository;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Background job that generates the learning paths engineers are still missing, e.g. engineers loaded by
+ * DataLoader or saved while the AI was unavailable. Every app.backfill.interval it scans engineers without a
+ * learning path in ID order, app.backfill.chunk-size at a time, and generates theirs app.ai.pipeline.batch-size
+ * engineers per AI call, with at most app.backfill.concurrency calls at once and no more engineers per second
+ * than the "backfill" Resilience4j rate limiter allows, leaving the rest of the "ai" budget to requests.
+ * <p>
+ * Several nodes may run it at once: a chunk is claimed with SELECT ... FOR UPDATE SKIP LOCKED and a lease of
+ * app.backfill.lease, so other nodes skip it until it is done or the lease expires. The scan position is saved
+ * in backfill_checkpoint after each chunk, so a restarted node resumes the pass; a pass that finds nothing left
+ * resets it, and the next pass picks up engineers skipped because of an expired lease or a failed generation.
+ * Failed generations are counted per engineer in backfill_attempts; after app.backfill.max-attempts of them the
+ * engineer is left FAILED and no longer scanned.
+ * When the AI becomes unavailable, the run stops and releases its chunk; the next run starts from the same place.
+ * <p>
+ * Progress is published as backfill.remaining, backfill.rate (engineers per second in the current run),
+ * backfill.eta (seconds), backfill.checkpoint and backfill.engineers tagged with result=completed|failed|deferred.
+ */
+@Component
+@ConditionalOnProperty(name = "app.backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class LearningPathBackfill {
+
+    static final String JOB = "learning-path";
+
+    private static final Logger log = LoggerFactory.getLogger(LearningPathBackfill.class);
+
+    private final SoftwareEngineerRepository softwareEngineerRepository;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final LearningPathGenerator learningPathGenerator;
+    private final LearningPathStore learningPathStore;
+    private final SimilarityIndex similarityIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final RateLimiter rateLimiter;
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong remaining = new AtomicLong();
+    private final AtomicLong checkpoint = new AtomicLong();
+    private final AtomicLong runProcessed = new AtomicLong();
+    private final Counter completed;
+    private final Counter failed;
+    private final Counter deferred;
+    private volatile long runStartNanos;
+
+    public LearningPathBackfill(SoftwareEngineerRepository softwareEngineerRepository,
+                                BackfillCheckpointRepository checkpointRepository,
+                                LearningPathGenerator learningPathGenerator,
+                                LearningPathStore learningPathStore,
+                                SimilarityIndex similarityIndex,
+                                PlatformTransactionManager transactionManager,
+                                RateLimiterRegistry rateLimiterRegistry,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.backfill.chunk-size:50}") int chunkSize,
+                                @Value("${app.ai.pipeline.batch-size:5}") int batchSize,
+                                @Value("${app.backfill.concurrency:2}") int concurrency,
+                                @Value("${app.backfill.lease:10m}") Duration lease,
+                                @Value("${app.backfill.max-attempts:3}") int maxAttempts) {
+        this.softwareEngineerRepository = softwareEngineerRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.learningPathGenerator = learningPathGenerator;
+        this.learningPathStore = learningPathStore;
+        this.similarityIndex = similarityIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rateLimiter = rateLimiterRegistry.rateLimiter("backfill");
+        this.executor = Executors.newFixedThreadPool(concurrency, Thread.ofVirtual().name("backfill-", 0).factory());
+        this.chunkSize = chunkSize;
+        this.batchSize = Math.max(1, batchSize);
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.completed = counter(meterRegistry, "completed");
+        this.failed = counter(meterRegistry, "failed");
+        this.deferred = counter(meterRegistry, "deferred");
+        Gauge.builder("backfill.remaining", remaining, AtomicLong::get)
+                .description("Engineers without a learning path when the run started, minus those processed since")
+                .register(meterRegistry);
+        Gauge.builder("backfill.checkpoint", checkpoint, AtomicLong::get)
+                .description("ID of the last engineer scanned in the current pass")
+                .register(meterRegistry);
+        Gauge.builder("backfill.rate", this, LearningPathBackfill::rate)
+                .description("Engineers processed per second in the current run")
+                .register(meterRegistry);
+        Gauge.builder("backfill.eta", this, LearningPathBackfill::etaSeconds)
+                .description("Seconds until the remaining engineers are processed at the current rate")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs one pass over the engineers without a learning path, starting at the saved checkpoint.
+     * Does nothing if a run is already in progress on this node.
+     */
+    @Scheduled(initialDelayString = "${app.backfill.initial-delay:1m}", fixedDelayString = "${app.backfill.interval:10m}")
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int after = checkpointRepository.findById(JOB).map(BackfillCheckpoint::getLastId).orElse(0);
+            remaining.set(softwareEngineerRepository.countWithoutLearningPath(maxAttempts));
+            checkpoint.set(after);
+            runProcessed.set(0);
+            runStartNanos = System.nanoTime();
+            log.info("Learning path backfill started after engineer {}, {} engineers without a learning path",
+                    after, remaining.get());
+            while (true) {
+                List<Integer> ids = claim(after);
+                if (ids.isEmpty()) {
+                    checkpointRepository.reset(JOB, Instant.now());
+                    checkpoint.set(0);
+                    log.info("Learning path backfill pass finished, {} engineers processed", runProcessed.get());
+                    return;
+                }
+                if (!enrich(ids)) {
+                    softwareEngineerRepository.leaseForBackfill(ids, null);
+                    log.warn("Learning path backfill paused after engineer {}: the AI is unavailable", after);
+                    return;
+                }
+                after = ids.getLast();
+                checkpointRepository.advance(JOB, after, Instant.now());
+                checkpoint.set(after);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Learning path backfill failed, it resumes from the checkpoint on the next run", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /* Locks the next chunk, leases it and commits, so other nodes skip it until the lease expires. */
+    private List<Integer> claim(int after) {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<Integer> ids = softwareEngineerRepository.lockBackfillCandidates(after, now, now.minus(lease),
+                    maxAttempts, chunkSize);
+            if (!ids.isEmpty()) {
+                softwareEngineerRepository.leaseForBackfill(ids, now.plus(lease));
+            }
+            return ids;
+        });
+    }
+
+    /* Returns false if the AI became unavailable, in which case some engineers may not have been processed. */
+    private boolean enrich(List<Integer> ids) {
+        Map<Integer, List<String>> techStacks = transactionTemplate.execute(status ->
+                softwareEngineerRepository.findAllById(ids).stream().collect(Collectors.toMap(
+                        SoftwareEngineer::getId,
+                        LearningPathPipeline::techStackOf)));
+        List<Future<Boolean>> batches = new ArrayList<>();
+        List<Integer> found = ids.stream().filter(techStacks::containsKey).toList();
+        for (int from = 0; from < found.size(); from += batchSize) {
+            List<Integer> batch = found.subList(from, Math.min(from + batchSize, found.size()));
+            batches.add(executor.submit(() -> enrichBatch(batch, batch.stream().map(techStacks::get).toList())));
+        }
+        boolean available = true;
+        for (Future<Boolean> batch : batches) {
+            try {
+                available &= batch.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the backfill batch", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Backfill batch failed", e.getCause());
+            }
+        }
+        return available;
+    }
+
+    boolean enrichBatch(List<Integer> ids, List<List<String>> techStacks) {
+        if (!acquirePermits(ids.size())) {
+            // Interrupted by shutdown; the run stops and releases the chunk
+            deferred.increment(ids.size());
+            return false;
+        }
+        List<GenerationResult> results;
+        try {
+            results = learningPathGenerator.generateAll(techStacks);
+        } catch (Exception e) {
+            log.warn("Learning path backfill failed for engineers {}", ids, e);
+            fail(ids);
+            return true;
+        }
+        boolean available = true;
+        List<Integer> failedIds = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            try {
+                learningPathStore.complete(id, results.get(i).get());
+                similarityIndex.refresh(id);
+                processed(completed, 1);
+            } catch (AiUnavailableException e) {
+                deferred.increment();
+                available = false;
+            } catch (Exception e) {
+                log.warn("Learning path backfill failed for engineer {}", id, e);
+                failedIds.add(id);
+            }
+        }
+        if (!failedIds.isEmpty()) {
+            fail(failedIds);
+        }
+        return available;
+    }
+
+    /* Counts the attempt, so engineers that keep failing drop out of the scan after app.backfill.max-attempts. */
+    private void fail(List<Integer> ids) {
+        ids.forEach(learningPathStore::fail);
+        softwareEngineerRepository.recordBackfillFailure(ids);
+        processed(failed, ids.size());
+    }
+
+    /* One permit per engineer, waiting for as many of the limiter's timeout-durations as it takes. */
+    private boolean acquirePermits(int permits) {
+        while (!rateLimiter.acquirePermission(permits)) {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void processed(Counter counter, int count) {
+        counter.increment(count);
+        runProcessed.addAndGet(count);
+        remaining.updateAndGet(value -> Math.max(0, value - count));
+    }
+
+    private double rate() {
+        double seconds = (System.nanoTime() - runStartNanos) / 1_000_000_000.0;
+        return running.get() && seconds > 0 ? runProcessed.get() / seconds : 0;
+    }
+
+    private double etaSeconds() {
+        double rate = rate();
+        return rate > 0 ? remaining.get() / rate : Double.NaN;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("backfill.engineers")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /* Interrupts batches waiting for the rate limiter, so shutdown does not wait out their permits. */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,164 @@
+package com.rvg.service;
+
+import com.rvg.SoftwareEngineer;
+import com.rvg.ai.GenerationResult;
+import com.rvg.ai.LearningPathGenerator;
+import com.rvg.errors.AiUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounded background pipeline that generates learning path recommendations
+ * for already persisted Software Engineers and stores them through LearningPathStore.
+ * Engineers whose generation is deferred because the AI is unavailable stay PENDING.
+ * At most workers generations run at once and at most queueCapacity more wait for a worker.
+ * Bulk submissions are generated batchSize engineers per AI call.
+ */
+@Component
+public class LearningPathPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(LearningPathPipeline.class);
+
+    private final LearningPathGenerator learningPathGenerator;
+    private final LearningPathStore learningPathStore;
+    private final SimilarityIndex similarityIndex;
+    private final ExecutorService executor;
+    private final Semaphore capacity;
+    private final int batchSize;
+
+    public LearningPathPipeline(LearningPathGenerator learningPathGenerator,
+                                LearningPathStore learningPathStore,
+                                SimilarityIndex similarityIndex,
+                                @Value("${app.ai.pipeline.workers:4}") int workers,
+                                @Value("${app.ai.pipeline.queue-capacity:100}") int queueCapacity,
+                                @Value("${app.ai.pipeline.batch-size:5}") int batchSize) {
+        this.learningPathGenerator = learningPathGenerator;
+        this.learningPathStore = learningPathStore;
+        this.similarityIndex = similarityIndex;
+        this.executor = Executors.newFixedThreadPool(workers, Thread.ofVirtual().name("learning-path-", 0).factory());
+        this.capacity = new Semaphore(workers + queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Queues learning path generation for a persisted Software Engineer.
+     * If the pipeline is full or shutting down, the engineer is marked as FAILED instead of blocking the caller.
+     *
+     * @param engineer The persisted Software Engineer.
+     * @return true if the work was queued, false if it was rejected.
+     */
+    public boolean submit(SoftwareEngineer engineer) {
+        Integer id = engineer.getId();
+        List<String> techStack = techStackOf(engineer);
+        if (!capacity.tryAcquire()) {
+            log.warn("Learning path queue is full, rejecting engineer {}", id);
+            learningPathStore.fail(id);
+            return false;
+        }
+        try {
+            execute(() -> process(id, techStack));
+        } catch (RejectedExecutionException e) {
+            log.warn("Learning path pipeline is shut down, rejecting engineer {}", id);
+            learningPathStore.fail(id);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Queues learning path generation for many persisted Software Engineers, up to batchSize of them
+     * per AI call, blocking while the pipeline is full. Must not be called from a request thread.
+     *
+     * @param engineers The persisted Software Engineers.
+     * @throws InterruptedException if interrupted while waiting for capacity.
+     */
+    public void submitAll(List<SoftwareEngineer> engineers) throws InterruptedException {
+        for (int from = 0; from < engineers.size(); from += batchSize) {
+            List<SoftwareEngineer> batch = engineers.subList(from, Math.min(from + batchSize, engineers.size()));
+            List<Integer> ids = batch.stream().map(SoftwareEngineer::getId).toList();
+            List<List<String>> techStacks = batch.stream().map(LearningPathPipeline::techStackOf).toList();
+            capacity.acquire();
+            execute(() -> processBatch(ids, techStacks));
+        }
+    }
+
+    /* Runs a task holding a capacity permit, which is released when it ends or cannot be queued. */
+    private void execute(Runnable task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    capacity.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    /* A copy the worker can read after the request ends; null entries are dropped, as everywhere else. */
+    static List<String> techStackOf(SoftwareEngineer engineer) {
+        return engineer.getTechStack() == null ? List.of() : engineer.getTechStack().stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    void process(Integer id, List<String> techStack) {
+        try {
+            complete(id, learningPathGenerator.generate(techStack));
+        } catch (AiUnavailableException e) {
+            log.warn("Learning path generation deferred for engineer {}: {}", id, e.getMessage());
+        } catch (Exception e) {
+            log.warn("Learning path generation failed for engineer {}", id, e);
+            learningPathStore.fail(id);
+        }
+    }
+
+    void processBatch(List<Integer> ids, List<List<String>> techStacks) {
+        if (ids.size() == 1) {
+            process(ids.getFirst(), techStacks.getFirst());
+            return;
+        }
+        List<GenerationResult> results;
+        try {
+            results = learningPathGenerator.generateAll(techStacks);
+        } catch (Exception e) {
+            log.warn("Learning path generation failed for engineers {}", ids, e);
+            ids.forEach(learningPathStore::fail);
+            return;
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            try {
+                complete(id, results.get(i).get());
+            } catch (AiUnavailableException e) {
+                log.warn("Learning path generation deferred for engineer {}: {}", id, e.getMessage());
+            } catch (Exception e) {
+                log.warn("Learning path generation failed for engineer {}", id, e);
+                learningPathStore.fail(id);
+            }
+        }
+    }
+
+    private void complete(Integer id, String recommendations) {
+        learningPathStore.complete(id, recommendations);
+        similarityIndex.refresh(id);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,250 @@
+package com.rvg.service;
+
+import com.rvg.ChangeType;
+import com.rvg.EnrichmentStatus;
+import com.rvg.LearningPath;
+import com.rvg.SoftwareEngineer;
+import com.rvg.config.CacheConfig;
+import com.rvg.dto.LearningPathHitDTO;
+import com.rvg.errors.ConflictException;
+import com.rvg.errors.NotFoundException;
+import com.rvg.repository.LearningPathRepository;
+import com.rvg.repository.SoftwareEngineerRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and writes the learning path recommendations of Software Engineers.
+ * Recommendations live in their own table so engineer rows stay small; they are only
+ * read when a caller asks for them. Every write that follows learning path generation
+ * evicts the engineer from the read-through cache once it has been committed.
+ * Every write also records the change in the ChangeOutbox, in the same transaction.
+ */
+@Component
+public class LearningPathStore {
+
+    private final SoftwareEngineerRepository softwareEngineerRepository;
+    private final LearningPathRepository learningPathRepository;
+    private final ChangeOutbox changeOutbox;
+    private final TransactionTemplate transactionTemplate;
+
+    public LearningPathStore(SoftwareEngineerRepository softwareEngineerRepository,
+                             LearningPathRepository learningPathRepository,
+                             ChangeOutbox changeOutbox,
+                             PlatformTransactionManager transactionManager) {
+        this.softwareEngineerRepository = softwareEngineerRepository;
+        this.learningPathRepository = learningPathRepository;
+        this.changeOutbox = changeOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Finds the learning path recommendations of a Software Engineer.
+     *
+     * @param id The ID of the Software Engineer.
+     * @return The recommendations, or empty if none have been stored.
+     */
+    public Optional<String> find(Integer id) {
+        return learningPathRepository.findById(id).map(LearningPath::getRecommendations);
+    }
+
+    /**
+     * Finds the learning path recommendations of several Software Engineers in one query.
+     *
+     * @param ids The IDs of the Software Engineers.
+     * @return The recommendations keyed by engineer ID; engineers without any are absent.
+     */
+    public Map<Integer, String> findAll(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return learningPathRepository.findByEngineerIdIn(ids).stream()
+                .collect(Collectors.toMap(LearningPathRepository.Recommendation::getEngineerId,
+                        LearningPathRepository.Recommendation::getRecommendations));
+    }
+
+    /**
+     * Searches the learning path recommendations in full text, most relevant first.
+     * Uses the tsvector that PostgreSQL derives from the recommendations on every write, so storing
+     * a learning path costs no extra statement.
+     *
+     * @param query  A web-search style query: words, "quoted phrases", OR and -excluded words.
+     * @param offset The number of matches to skip.
+     * @param limit  The maximum number of matches to return.
+     * @return The matches with their relevance and a highlighted snippet.
+     */
+    public List<LearningPathHitDTO> search(String query, int offset, int limit) {
+        return learningPathRepository.search(query, offset, limit).stream()
+                .map(hit -> new LearningPathHitDTO(hit.getEngineerId(), hit.getName(), hit.getRank(),
+                        highlight(hit.getSnippet())))
+                .toList();
+    }
+
+    /* HTML-escapes a ts_headline snippet, then turns its STX/ETX match delimiters into <mark> tags. */
+    static String highlight(String snippet) {
+        if (snippet == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(snippet, "UTF-8")
+                .replace("\u0002", "<mark>")
+                .replace("\u0003", "</mark>");
+    }
+
+    /**
+     * Saves a Software Engineer together with its learning path recommendations in one transaction.
+     * Null recommendations remove any previously stored learning path. Saving an existing
+     * engineer always increments its version.
+     *
+     * @param engineer The Software Engineer entity to save.
+     * @return The saved Software Engineer entity with its learning path recommendations.
+     */
+    public SoftwareEngineer save(SoftwareEngineer engineer) {
+        String recommendations = engineer.getLearningPathRecommendations();
+        boolean isNew = engineer.getId() == null;
+        SoftwareEngineer saved = transactionTemplate.execute(status -> {
+            SoftwareEngineer persisted = softwareEngineerRepository.save(engineer);
+            if (!isNew) {
+                // The learning path lives in its own table; touch the engineer so its version covers it too.
+                persisted.touch();
+            }
+            if (recommendations == null) {
+                if (!isNew) {
+                    learningPathRepository.deleteById(persisted.getId());
+                }
+            } else if (isNew) {
+                learningPathRepository.save(new LearningPath(persisted, recommendations));
+            } else {
+                store(persisted, recommendations);
+            }
+            changeOutbox.record(persisted.getId(), isNew ? ChangeType.CREATED : ChangeType.UPDATED);
+            return persisted;
+        });
+        if (saved != null) {
+            saved.setLearningPathRecommendations(recommendations);
+        }
+        return saved;
+    }
+
+    /**
+     * Applies changes to an existing Software Engineer and its learning path in one transaction.
+     * The engineer and its tech stack are read in one statement and changed in place, so only the
+     * columns and tech stack positions that differ are written. The version is checked twice: against
+     * the version the caller last saw, and again by the UPDATE itself, so a concurrent write between
+     * the read and the commit fails with an optimistic locking exception instead of being overwritten.
+     *
+     * @param id              The ID of the Software Engineer.
+     * @param expectedVersion The version the caller last saw, or null to apply the changes to whatever is current.
+     * @param changes         The new values.
+     * @param partial         Whether null values in changes leave the current values untouched;
+     *                        otherwise they clear them.
+     * @return The updated Software Engineer entity with its learning path recommendations.
+     * @throws NotFoundException if the Software Engineer with the given ID does not exist.
+     * @throws ConflictException if the Software Engineer is no longer at the expected version.
+     */
+    public SoftwareEngineer update(Integer id, Long expectedVersion, SoftwareEngineer changes, boolean partial) {
+        return transactionTemplate.execute(status -> {
+            SoftwareEngineer engineer = softwareEngineerRepository.findById(id)
+                    .orElseThrow(() -> new NotFoundException("Engineer not found with id: " + id));
+            if (expectedVersion != null && !expectedVersion.equals(engineer.getVersion())) {
+                throw new ConflictException("Engineer " + id + " is at version " + engineer.getVersion()
+                        + ", not " + expectedVersion);
+            }
+            boolean changed = false;
+            if ((!partial || changes.getName() != null) && !Objects.equals(engineer.getName(), changes.getName())) {
+                engineer.setName(changes.getName());
+                changed = true;
+            }
+            if ((!partial || changes.getTechStack() != null)
+                    && !Objects.equals(engineer.getTechStack(), changes.getTechStack() != null ? changes.getTechStack() : List.of())) {
+                engineer.replaceTechStack(changes.getTechStack());
+                changed = true;
+            }
+            Optional<LearningPath> learningPath = learningPathRepository.findById(id);
+            String recommendations = learningPath.map(LearningPath::getRecommendations).orElse(null);
+            String newRecommendations = changes.getLearningPathRecommendations();
+            if ((!partial || newRecommendations != null) && !Objects.equals(recommendations, newRecommendations)) {
+                // The learning path lives in its own table; touch the engineer so its version covers it too.
+                engineer.touch();
+                if (newRecommendations == null) {
+                    learningPathRepository.delete(learningPath.get());
+                } else if (learningPath.isPresent()) {
+                    learningPath.get().setRecommendations(newRecommendations);
+                } else {
+                    learningPathRepository.save(new LearningPath(engineer, newRecommendations));
+                }
+                recommendations = newRecommendations;
+                changed = true;
+            }
+            engineer.setLearningPathRecommendations(recommendations);
+            if (changed) {
+                changeOutbox.record(id, ChangeType.UPDATED);
+            }
+            return engineer;
+        });
+    }
+
+    /**
+     * Stores generated learning path recommendations and marks the engineer as COMPLETED.
+     * Nothing is stored if the engineer no longer exists.
+     *
+     * @param id              The ID of the Software Engineer.
+     * @param recommendations The generated learning path recommendations.
+     */
+    @CacheEvict(cacheNames = CacheConfig.ENGINEERS, key = "#id")
+    public void complete(Integer id, String recommendations) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (softwareEngineerRepository.updateEnrichmentStatus(id, EnrichmentStatus.COMPLETED) == 1) {
+                store(softwareEngineerRepository.getReferenceById(id), recommendations);
+                changeOutbox.record(id, ChangeType.UPDATED);
+            }
+        });
+    }
+
+    /**
+     * Marks learning path generation for the engineer as FAILED.
+     *
+     * @param id The ID of the Software Engineer.
+     */
+    @CacheEvict(cacheNames = CacheConfig.ENGINEERS, key = "#id")
+    public void fail(Integer id) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (softwareEngineerRepository.updateEnrichmentStatus(id, EnrichmentStatus.FAILED) == 1) {
+                changeOutbox.record(id, ChangeType.UPDATED);
+            }
+        });
+    }
+
+    /**
+     * Deletes a Software Engineer in a single statement; its tech stack and learning path are
+     * removed by the database's cascade.
+     *
+     * @param id The ID of the Software Engineer.
+     * @return true if the engineer was deleted, false if it did not exist.
+     */
+    public boolean delete(Integer id) {
+        Boolean deleted = transactionTemplate.execute(status -> {
+            if (softwareEngineerRepository.deleteByIdReturningCount(id) == 0) {
+                return false;
+            }
+            changeOutbox.record(id, ChangeType.DELETED);
+            return true;
+        });
+        return Boolean.TRUE.equals(deleted);
+    }
+
+    private void store(SoftwareEngineer engineer, String recommendations) {
+        learningPathRepository.findById(engineer.getId()).ifPresentOrElse(
+                learningPath -> learningPath.setRecommendations(recommendations),
+                () -> learningPathRepository.save(new LearningPath(engineer, recommendations)));
+    }
+}
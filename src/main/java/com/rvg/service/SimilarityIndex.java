@@ -0,0 +1,404 @@
+package com.rvg.service;
+
+import com.github.jelmerk.knn.DistanceFunctions;
+import com.github.jelmerk.knn.Item;
+import com.github.jelmerk.knn.SearchResult;
+import com.github.jelmerk.knn.hnsw.HnswIndex;
+import com.github.jelmerk.knn.hnsw.SizeLimitExceededException;
+import com.rvg.SoftwareEngineer;
+import com.rvg.dto.SimilarEngineerDTO;
+import com.rvg.dto.SimilarityIndexStatsDTO;
+import com.rvg.errors.NotFoundException;
+import com.rvg.repository.SoftwareEngineerRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Approximate nearest-neighbour (HNSW) index of engineer embeddings, for "engineers similar to this one"
+ * by tech stack and learning path. Each engineer is embedded once per committed write: writers only
+ * queue its ID, and a single background worker reads the current state in batches, embeds it and
+ * replaces the engineer's vector, or drops it if the engineer was deleted. IDs queued again before
+ * the worker reaches them are embedded once.
+ * <p>
+ * The index is saved to app.similarity.index-path every app.similarity.save-interval when it has changed, and
+ * on shutdown, together with the number of engineers it holds and the sums of their IDs and versions.
+ * On startup it is loaded from there if those still match the database and the embedding model is the same;
+ * otherwise it is rebuilt in the background.
+ */
+@Component
+public class SimilarityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarityIndex.class);
+
+    private static final int FORMAT = 2;
+    private static final int BATCH_SIZE = 100;
+    private static final int INITIAL_CAPACITY = 10_000;
+
+    private final SoftwareEngineerRepository softwareEngineerRepository;
+    private final LearningPathStore learningPathStore;
+    private final EmbeddingModel embeddingModel;
+    private final TransactionTemplate transactionTemplate;
+    private final Path indexPath;
+    private final Executor worker;
+    private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+    private final int dimensions;
+    private volatile HnswIndex<Integer, float[], EngineerVector, Float> index;
+    private volatile boolean rebuilding;
+    private volatile boolean changed;
+
+    @Autowired
+    public SimilarityIndex(SoftwareEngineerRepository softwareEngineerRepository,
+                           LearningPathStore learningPathStore,
+                           EmbeddingModel embeddingModel,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.similarity.index-path:}") String indexPath) {
+        this(softwareEngineerRepository, learningPathStore, embeddingModel, transactionManager,
+                indexPath.isBlank() ? null : Path.of(indexPath),
+                Executors.newSingleThreadExecutor(Thread.ofVirtual().name("similarity-index").factory()));
+    }
+
+    SimilarityIndex(SoftwareEngineerRepository softwareEngineerRepository,
+                    LearningPathStore learningPathStore,
+                    EmbeddingModel embeddingModel,
+                    PlatformTransactionManager transactionManager,
+                    Path indexPath,
+                    Executor worker) {
+        this.softwareEngineerRepository = softwareEngineerRepository;
+        this.learningPathStore = learningPathStore;
+        this.embeddingModel = embeddingModel;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.indexPath = indexPath;
+        this.worker = worker;
+        this.dimensions = embeddingModel.dimensions();
+        this.index = newIndex(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Loads the saved index, or rebuilds it when there is none or it is out of date.
+     * Runs on the worker, so writes queued meanwhile are applied once it is done.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker.execute(() -> {
+            if (!load()) {
+                rebuildNow();
+            }
+        });
+    }
+
+    /**
+     * Queues the rebuild of the whole index from the database, e.g. after switching embedding models.
+     * The current index keeps answering queries until the new one replaces it.
+     */
+    public void rebuild() {
+        worker.execute(this::rebuildNow);
+    }
+
+    /**
+     * Queues a Software Engineer to be embedded again from its committed state, or removed if it no longer exists.
+     *
+     * @param id The ID of the Software Engineer.
+     */
+    public void refresh(Integer id) {
+        if (pending.add(id)) {
+            try {
+                worker.execute(this::processPending);
+            } catch (RejectedExecutionException e) {
+                log.debug("Similarity index is shutting down, engineer {} is re-embedded on the next rebuild", id);
+            }
+        }
+    }
+
+    /**
+     * Queues several Software Engineers to be embedded again from their committed state.
+     *
+     * @param engineers The saved Software Engineers.
+     */
+    public void refreshAll(Collection<SoftwareEngineer> engineers) {
+        engineers.forEach(engineer -> refresh(engineer.getId()));
+    }
+
+    /**
+     * Finds the engineers most similar to the given one by tech stack and learning path.
+     *
+     * @param id The ID of the Software Engineer.
+     * @param k  The maximum number of engineers to return.
+     * @return The most similar engineers, most similar first, excluding the engineer itself.
+     * @throws NotFoundException if the Software Engineer has not been indexed.
+     */
+    public List<SimilarEngineerDTO> findSimilar(Integer id, int k) {
+        HnswIndex<Integer, float[], EngineerVector, Float> current = index;
+        if (current.get(id).isEmpty()) {
+            throw new NotFoundException("Engineer not indexed with id: " + id);
+        }
+        return current.findNeighbors(id, k).stream()
+                .map(SimilarityIndex::toDTO)
+                .toList();
+    }
+
+    /**
+     * Reports the embedding model and the size of the index.
+     *
+     * @return The index statistics.
+     */
+    public SimilarityIndexStatsDTO stats() {
+        return new SimilarityIndexStatsDTO(embeddingModel.getClass().getSimpleName(), dimensions,
+                index.size(), pending.size(), rebuilding);
+    }
+
+    /**
+     * Queues a save of the index if it changed since the last one, so a crash loses at most one interval of
+     * embeddings. Runs on the worker, so the saved index never has a batch half applied.
+     */
+    @Scheduled(initialDelayString = "${app.similarity.save-interval:10m}",
+            fixedDelayString = "${app.similarity.save-interval:10m}")
+    public void checkpoint() {
+        try {
+            worker.execute(this::save);
+        } catch (RejectedExecutionException e) {
+            log.debug("Similarity index is shutting down, it is saved once the worker has finished");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (worker instanceof ExecutorService executor) {
+            executor.shutdown();
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Similarity index worker did not finish, index not saved");
+                return;
+            }
+        }
+        save();
+    }
+
+    /* Takes up to BATCH_SIZE queued IDs; the other tasks queued for them find nothing left and return. */
+    private void processPending() {
+        List<Integer> ids = new ArrayList<>(BATCH_SIZE);
+        Iterator<Integer> iterator = pending.iterator();
+        while (iterator.hasNext() && ids.size() < BATCH_SIZE) {
+            ids.add(iterator.next());
+            iterator.remove();
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            apply(index, ids);
+        } catch (RuntimeException e) {
+            log.warn("Could not embed engineers {}, they are re-embedded on their next write or rebuild", ids, e);
+        }
+    }
+
+    private void rebuildNow() {
+        long start = System.nanoTime();
+        rebuilding = true;
+        try {
+            List<Integer> ids = transactionTemplate.execute(status -> {
+                try (Stream<SoftwareEngineerRepository.SkillRow> rows = softwareEngineerRepository.streamSkills()) {
+                    return rows.map(SoftwareEngineerRepository.SkillRow::getId).toList();
+                }
+            });
+            HnswIndex<Integer, float[], EngineerVector, Float> rebuilt = newIndex(Math.max(INITIAL_CAPACITY, ids.size() * 2));
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                apply(rebuilt, ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())));
+            }
+            index = rebuilt;
+            changed = true;
+            log.info("Similarity index rebuilt with {} engineers in {} ms",
+                    rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Similarity index rebuild failed, keeping the current index", e);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    /* Reads the engineers and their learning paths in one transaction, then embeds them outside of it. */
+    private void apply(HnswIndex<Integer, float[], EngineerVector, Float> target, List<Integer> ids) {
+        List<Source> sources = transactionTemplate.execute(status -> {
+            Map<Integer, String> learningPaths = learningPathStore.findAll(ids);
+            return softwareEngineerRepository.findAllById(ids).stream()
+                    .map(engineer -> new Source(engineer.getId(), engineer.getVersion(),
+                            textOf(engineer, learningPaths.get(engineer.getId()))))
+                    .toList();
+        });
+        List<float[]> vectors = sources.isEmpty()
+                ? List.of()
+                : embeddingModel.embed(sources.stream().map(Source::text).toList());
+        for (int i = 0; i < sources.size(); i++) {
+            Source source = sources.get(i);
+            add(target, new EngineerVector(source.id(), normalize(vectors.get(i)),
+                    source.version() == null ? 0 : source.version()));
+        }
+        Set<Integer> found = sources.stream().map(Source::id).collect(Collectors.toSet());
+        for (Integer id : ids) {
+            if (!found.contains(id)) {
+                target.remove(id, Long.MAX_VALUE);
+            }
+        }
+        changed = true;
+    }
+
+    private static void add(HnswIndex<Integer, float[], EngineerVector, Float> target, EngineerVector vector) {
+        try {
+            target.add(vector);
+        } catch (SizeLimitExceededException e) {
+            target.resize(target.getMaxItemCount() * 2);
+            target.add(vector);
+        }
+    }
+
+    private boolean load() {
+        if (indexPath == null || !Files.exists(indexPath)) {
+            return false;
+        }
+        SoftwareEngineerRepository.TableSnapshot snapshot = softwareEngineerRepository.findSnapshot();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(indexPath))) {
+            DataInputStream header = new DataInputStream(in);
+            if (header.readInt() != FORMAT
+                    || !header.readUTF().equals(modelName())
+                    || header.readInt() != dimensions
+                    || header.readLong() != snapshot.getEngineers()
+                    || header.readLong() != snapshot.getIdSum()
+                    || header.readLong() != snapshot.getVersionSum()) {
+                log.info("Saved similarity index at {} is out of date", indexPath);
+                return false;
+            }
+            index = HnswIndex.load(in);
+            changed = false;
+            log.info("Similarity index loaded from {} with {} engineers", indexPath, index.size());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load the similarity index from {}", indexPath, e);
+            return false;
+        }
+    }
+
+    /*
+     * Written to a temporary file first, so a crash while saving never leaves a truncated index behind.
+     * The header describes the vectors in the index rather than the table, so a write committed while
+     * saving, and not embedded yet, makes the saved index out of date instead of being silently missed.
+     */
+    private void save() {
+        if (indexPath == null || !changed) {
+            return;
+        }
+        changed = false;
+        try {
+            HnswIndex<Integer, float[], EngineerVector, Float> current = index;
+            long idSum = 0;
+            long versionSum = 0;
+            for (EngineerVector vector : current.items()) {
+                idSum += vector.id();
+                versionSum += vector.version();
+            }
+            Path parent = indexPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temporary = Files.createTempFile(parent, "similarity-index", ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                DataOutputStream header = new DataOutputStream(out);
+                header.writeInt(FORMAT);
+                header.writeUTF(modelName());
+                header.writeInt(dimensions);
+                header.writeLong(current.size());
+                header.writeLong(idSum);
+                header.writeLong(versionSum);
+                header.flush();
+                current.save(out);
+                out.flush();
+            }
+            Files.move(temporary, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Similarity index saved to {}", indexPath);
+        } catch (IOException | RuntimeException e) {
+            changed = true;
+            log.warn("Could not save the similarity index to {}", indexPath, e);
+        }
+    }
+
+    private HnswIndex<Integer, float[], EngineerVector, Float> newIndex(int capacity) {
+        return HnswIndex.newBuilder(dimensions, DistanceFunctions.FLOAT_INNER_PRODUCT, capacity)
+                .withM(16)
+                .withEfConstruction(200)
+                .withEf(64)
+                .withRemoveEnabled()
+                .build();
+    }
+
+    private String modelName() {
+        return embeddingModel.getClass().getName();
+    }
+
+    private static String textOf(SoftwareEngineer engineer, String learningPath) {
+        String techStack = engineer.getTechStack() == null ? "" : String.join(", ", engineer.getTechStack());
+        return learningPath == null ? techStack : techStack + "\n" + learningPath;
+    }
+
+    /* Inner product equals cosine similarity on unit vectors, whatever the model returns. */
+    private static float[] normalize(float[] vector) {
+        double sum = 0;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        float[] normalized = vector.clone();
+        if (sum > 0) {
+            float norm = (float) Math.sqrt(sum);
+            for (int i = 0; i < normalized.length; i++) {
+                normalized[i] /= norm;
+            }
+        }
+        return normalized;
+    }
+
+    private static SimilarEngineerDTO toDTO(SearchResult<EngineerVector, Float> result) {
+        return new SimilarEngineerDTO(result.item().id(), 1 - result.distance());
+    }
+
+    private record Source(Integer id, Long version, String text) {
+    }
+
+    /* Serialized with the index when it is saved. */
+    record EngineerVector(Integer id, float[] vector, long version) implements Item<Integer, float[]> {
+
+        @Override
+        public int dimensions() {
+            return vector.length;
+        }
+    }
+}
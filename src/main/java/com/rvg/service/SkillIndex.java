@@ -0,0 +1,316 @@
+package com.rvg.service;
+
+import com.rvg.SoftwareEngineer;
+import com.rvg.dto.SkillCoverageDTO;
+import com.rvg.dto.SkillIndexStatsDTO;
+import com.rvg.dto.SkillMatchDTO;
+import com.rvg.errors.BadRequestException;
+import com.rvg.repository.SoftwareEngineerRepository;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index from normalized skill to a compressed (Roaring) bitmap of engineer IDs,
+ * for matching engineers to a set of skills without touching the database.
+ * The index is built once the application is ready and kept current by the services after each
+ * committed save, update and delete. Only the bitmaps hold an engineer's skills; next to them the
+ * index keeps each engineer's version, so an update applied late never overwrites a newer one, and
+ * a bitmap of deleted IDs, so a save applied after the delete does not bring the engineer back.
+ * IDs are allocated in order and never reused, so the tombstones compress to a few runs.
+ * Queries share a read lock; writes are exclusive.
+ */
+@Component
+public class SkillIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillIndex.class);
+
+    private final SoftwareEngineerRepository softwareEngineerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, RoaringBitmap> bitmaps = new HashMap<>();
+    private final Map<Integer, Long> versions = new HashMap<>();
+    private final RoaringBitmap deleted = new RoaringBitmap();
+
+    public SkillIndex(SoftwareEngineerRepository softwareEngineerRepository,
+                      PlatformTransactionManager transactionManager) {
+        this.softwareEngineerRepository = softwareEngineerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Rebuilds the index from the database, streaming only the IDs, versions and skills of the engineers.
+     * Writes committed while the rebuild runs wait for it and are applied afterwards.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            bitmaps.clear();
+            versions.clear();
+            deleted.clear();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<SoftwareEngineerRepository.SkillRow> rows = softwareEngineerRepository.streamSkills()) {
+                    rows.forEach(row -> add(row.getId(), versionOf(row.getVersion()), row.getSkills()));
+                }
+            });
+            bitmaps.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Skill index built with {} engineers and {} skills in {} ms",
+                versions.size(), bitmaps.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Indexes a saved Software Engineer, replacing its previous skills.
+     *
+     * @param engineer The Software Engineer, as returned once its transaction has committed.
+     */
+    public void put(SoftwareEngineer engineer) {
+        putAll(List.of(engineer));
+    }
+
+    /**
+     * Indexes saved Software Engineers, replacing their previous skills.
+     *
+     * @param saved The Software Engineers, as returned once their transaction has committed.
+     */
+    public void putAll(Collection<SoftwareEngineer> saved) {
+        lock.writeLock().lock();
+        try {
+            for (SoftwareEngineer engineer : saved) {
+                if (deleted.contains(engineer.getId())) {
+                    continue;
+                }
+                long version = versionOf(engineer.getVersion());
+                Long current = versions.get(engineer.getId());
+                if (current != null) {
+                    if (current > version) {
+                        continue;
+                    }
+                    removeFromBitmaps(engineer.getId());
+                }
+                add(engineer.getId(), version, engineer.getSkills());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a deleted Software Engineer from the index, leaving a tombstone so that a save of it
+     * applied later is ignored.
+     *
+     * @param id The ID of the Software Engineer.
+     */
+    public void remove(Integer id) {
+        lock.writeLock().lock();
+        try {
+            if (deleted.checkedAdd(id)) {
+                deleted.runOptimize();
+            }
+            if (versions.remove(id) != null) {
+                removeFromBitmaps(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the engineers who have every skill in all (intersection) and at least one skill in any (union),
+     * ordered by ID. Skills are matched case-insensitively.
+     *
+     * @param all   Skills every engineer must have; may be empty.
+     * @param any   Skills of which every engineer must have at least one; may be empty.
+     * @param after The ID to start after, or null for the first page.
+     * @param limit The maximum number of IDs to return.
+     * @return The number of matches and a page of their IDs.
+     * @throws BadRequestException if no skill is given.
+     */
+    public SkillMatchDTO match(Collection<String> all, Collection<String> any, Integer after, int limit) {
+        List<String> allSkills = normalize(all);
+        List<String> anySkills = normalize(any);
+        if (allSkills.isEmpty() && anySkills.isEmpty()) {
+            throw new BadRequestException("At least one skill is required in 'all' or 'any'");
+        }
+        RoaringBitmap matches;
+        lock.readLock().lock();
+        try {
+            if (allSkills.isEmpty()) {
+                matches = union(anySkills);
+            } else {
+                matches = intersection(allSkills);
+                if (!anySkills.isEmpty() && !matches.isEmpty()) {
+                    matches.and(union(anySkills));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        PeekableIntIterator iterator = matches.getIntIterator();
+        if (after != null) {
+            iterator.advanceIfNeeded(after + 1);
+        }
+        List<Integer> ids = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add(iterator.next());
+        }
+        return new SkillMatchDTO(matches.getCardinality(), ids, iterator.hasNext() ? ids.getLast() : null);
+    }
+
+    /**
+     * Ranks engineers by how many of the given skills they cover, most first and then by ID.
+     * Works level by level on bitmaps of the engineers covering at least n skills, so the cost depends on
+     * the number of skills and the bitmap sizes, not on the number of engineers visited.
+     *
+     * @param skills The skills to cover.
+     * @param k      The maximum number of engineers to return.
+     * @return Up to k engineers with the number of skills each covers.
+     * @throws BadRequestException if no skill is given.
+     */
+    public List<SkillCoverageDTO> topByCoverage(Collection<String> skills, int k) {
+        List<String> normalized = normalize(skills);
+        if (normalized.isEmpty()) {
+            throw new BadRequestException("At least one skill is required");
+        }
+        // atLeast.get(n - 1) holds the engineers covering at least n of the skills seen so far.
+        List<RoaringBitmap> atLeast = new ArrayList<>(normalized.size());
+        lock.readLock().lock();
+        try {
+            for (String skill : normalized) {
+                RoaringBitmap bitmap = bitmaps.get(skill);
+                if (bitmap == null) {
+                    continue;
+                }
+                atLeast.add(new RoaringBitmap());
+                for (int n = atLeast.size() - 1; n > 0; n--) {
+                    atLeast.get(n).or(RoaringBitmap.and(atLeast.get(n - 1), bitmap));
+                }
+                atLeast.getFirst().or(bitmap);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<SkillCoverageDTO> top = new ArrayList<>(Math.min(k, 1024));
+        for (int n = atLeast.size(); n >= 1 && top.size() < k; n--) {
+            RoaringBitmap exactly = n == atLeast.size()
+                    ? atLeast.get(n - 1)
+                    : RoaringBitmap.andNot(atLeast.get(n - 1), atLeast.get(n));
+            IntIterator iterator = exactly.getIntIterator();
+            while (iterator.hasNext() && top.size() < k) {
+                top.add(new SkillCoverageDTO(iterator.next(), n));
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Reports the size of the index: the number of engineers and the serialized bitmap size per skill.
+     *
+     * @return The index statistics, skills ordered by bitmap size, largest first.
+     */
+    public SkillIndexStatsDTO stats() {
+        lock.readLock().lock();
+        try {
+            List<SkillIndexStatsDTO.SkillStats> skills = bitmaps.entrySet().stream()
+                    .map(entry -> new SkillIndexStatsDTO.SkillStats(entry.getKey(),
+                            entry.getValue().getCardinality(), entry.getValue().getLongSizeInBytes()))
+                    .sorted(Comparator.comparingLong(SkillIndexStatsDTO.SkillStats::bitmapBytes).reversed()
+                            .thenComparing(SkillIndexStatsDTO.SkillStats::skill))
+                    .toList();
+            long bitmapBytes = skills.stream().mapToLong(SkillIndexStatsDTO.SkillStats::bitmapBytes).sum();
+            return new SkillIndexStatsDTO(versions.size(), bitmapBytes, skills);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Integer id, long version, String[] skills) {
+        versions.put(id, version);
+        if (skills != null) {
+            for (String skill : skills) {
+                bitmaps.computeIfAbsent(skill, key -> new RoaringBitmap()).add(id);
+            }
+        }
+    }
+
+    /* The skills are not kept per engineer, so every bitmap is checked: one lookup per distinct skill. */
+    private void removeFromBitmaps(int id) {
+        Iterator<RoaringBitmap> iterator = bitmaps.values().iterator();
+        while (iterator.hasNext()) {
+            RoaringBitmap bitmap = iterator.next();
+            if (bitmap.checkedRemove(id) && bitmap.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /* Smallest bitmap first, so the intersection shrinks as early as possible. */
+    private RoaringBitmap intersection(List<String> skills) {
+        List<RoaringBitmap> candidates = new ArrayList<>(skills.size());
+        for (String skill : skills) {
+            RoaringBitmap bitmap = bitmaps.get(skill);
+            if (bitmap == null) {
+                return new RoaringBitmap();
+            }
+            candidates.add(bitmap);
+        }
+        candidates.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+        RoaringBitmap result = candidates.getFirst().clone();
+        for (int i = 1; i < candidates.size() && !result.isEmpty(); i++) {
+            result.and(candidates.get(i));
+        }
+        return result;
+    }
+
+    private RoaringBitmap union(List<String> skills) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (String skill : skills) {
+            RoaringBitmap bitmap = bitmaps.get(skill);
+            if (bitmap != null) {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    private static List<String> normalize(Collection<String> skills) {
+        if (skills == null) {
+            return List.of();
+        }
+        return skills.stream()
+                .map(SoftwareEngineer::normalizeSkill)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    private static long versionOf(Long version) {
+        return version == null ? 0 : version;
+    }
+}
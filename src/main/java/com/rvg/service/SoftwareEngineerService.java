@@ -1,113 +1,423 @@
 package com.rvg.service;
 
+import com.rvg.EnrichmentStatus;
 import com.rvg.SoftwareEngineer;
-import com.rvg.ai.AiService;
+import com.rvg.ai.LearningPathGenerator;
+import com.rvg.config.CacheConfig;
+import com.rvg.dto.CursorPage;
+import com.rvg.dto.EngineerVersion;
+import com.rvg.dto.EntityVersion;
+import com.rvg.dto.LearningPathHitDTO;
+import com.rvg.dto.RankedPage;
+import com.rvg.errors.AiUnavailableException;
+import com.rvg.errors.BadRequestException;
+import com.rvg.errors.ConflictException;
 import com.rvg.errors.NotFoundException;
 import com.rvg.repository.SoftwareEngineerRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Service class for managing Software Engineer entities.
- * Provides methods for CRUD operations.
+ * Provides methods for CRUD operations; every write is recorded in the ChangeOutbox in the
+ * transaction that makes it, and once committed is also applied to the SkillIndex and queued for the SimilarityIndex.
+ * Every public method is timed as engineer.service, tagged with the method and the exception thrown, if any.
  */
 @Service
+@Timed(value = "engineer.service", description = "Time spent in SoftwareEngineerService methods")
 public class SoftwareEngineerService {
 
+    private static final Logger log = LoggerFactory.getLogger(SoftwareEngineerService.class);
+
     private final SoftwareEngineerRepository softwareEngineerRepository;
-    private final AiService aiService;
+    private final LearningPathGenerator learningPathGenerator;
+    private final LearningPathPipeline learningPathPipeline;
+    private final LearningPathStore learningPathStore;
+    private final SkillIndex skillIndex;
+    private final SimilarityIndex similarityIndex;
+    private final CacheManager cacheManager;
 
-    public SoftwareEngineerService(SoftwareEngineerRepository softwareEngineerRepository, AiService aiService) {
+    public SoftwareEngineerService(SoftwareEngineerRepository softwareEngineerRepository,
+                                   LearningPathGenerator learningPathGenerator,
+                                   LearningPathPipeline learningPathPipeline,
+                                   LearningPathStore learningPathStore,
+                                   SkillIndex skillIndex,
+                                   SimilarityIndex similarityIndex,
+                                   CacheManager cacheManager) {
         this.softwareEngineerRepository = softwareEngineerRepository;
-        this.aiService = aiService;
+        this.learningPathGenerator = learningPathGenerator;
+        this.learningPathPipeline = learningPathPipeline;
+        this.learningPathStore = learningPathStore;
+        this.skillIndex = skillIndex;
+        this.similarityIndex = similarityIndex;
+        this.cacheManager = cacheManager;
     }
 
     /**
-     * Retrieves all Software Engineers.
+     * Retrieves a page of Software Engineers ordered by ID using keyset pagination.
      *
-     * @return A list of Software Engineer entities.
+     * @param after      The ID to start after, or null for the first page.
+     * @param limit      The maximum number of engineers to return.
+     * @param namePrefix Optional case-insensitive name prefix filter.
+     * @param tech       Optional case-insensitive tech stack entry filter.
+     * @return A page of Software Engineer entities and the cursor of the next page.
      */
-    public List<SoftwareEngineer> getAllSoftwareEngineers() {
-        return softwareEngineerRepository.findAll();
+    public CursorPage<SoftwareEngineer> findPage(Integer after, int limit, String namePrefix, String tech) {
+        List<SoftwareEngineer> engineers = softwareEngineerRepository.findPage(
+                after == null ? 0 : after,
+                toPrefixPattern(namePrefix),
+                normalize(tech),
+                Limit.of(limit + 1));
+        return toPage(engineers, limit);
+    }
+
+    /**
+     * Retrieves a page of Software Engineers that know all of some skills and at least one of others,
+     * ordered by ID using keyset pagination. Skills match tech stack entries case-insensitively.
+     *
+     * @param all   Skills every engineer must have; may be empty.
+     * @param any   Skills of which every engineer must have at least one; may be empty.
+     * @param after The ID to start after, or null for the first page.
+     * @param limit The maximum number of engineers to return.
+     * @return A page of Software Engineer entities and the cursor of the next page.
+     * @throws BadRequestException if no skill is given.
+     */
+    public CursorPage<SoftwareEngineer> searchBySkills(Collection<String> all, Collection<String> any,
+                                                       Integer after, int limit) {
+        String[] allSkills = normalizeSkills(all);
+        String[] anySkills = normalizeSkills(any);
+        if (allSkills.length == 0 && anySkills.length == 0) {
+            throw new BadRequestException("At least one skill is required in 'all' or 'any'");
+        }
+        int start = after == null ? 0 : after;
+        List<SoftwareEngineer> engineers = anySkills.length == 0
+                ? softwareEngineerRepository.findBySkillsIncludingAll(start, allSkills, Limit.of(limit + 1))
+                : softwareEngineerRepository.findBySkillsIncludingAllAndAny(start, allSkills, anySkills,
+                Limit.of(limit + 1));
+        return toPage(engineers, limit);
+    }
+
+    /**
+     * Reads the IDs and versions of the page findPage would return, without loading the engineers,
+     * so a conditional request can be answered before anything else is read.
+     *
+     * @param after      The ID to start after, or null for the first page.
+     * @param limit      The maximum number of engineers to return.
+     * @param namePrefix Optional case-insensitive name prefix filter.
+     * @param tech       Optional case-insensitive tech stack entry filter.
+     * @return A page of engineer IDs and versions and the cursor of the next page.
+     */
+    public CursorPage<EngineerVersion> findPageVersions(Integer after, int limit, String namePrefix, String tech) {
+        List<EngineerVersion> versions = softwareEngineerRepository.findPageVersions(
+                after == null ? 0 : after,
+                toPrefixPattern(namePrefix),
+                normalize(tech),
+                Limit.of(limit + 1));
+        return toVersionPage(versions, limit);
+    }
+
+    /**
+     * Reads the IDs and versions of the page searchBySkills would return, without loading the engineers.
+     *
+     * @param all   Skills every engineer must have; may be empty.
+     * @param any   Skills of which every engineer must have at least one; may be empty.
+     * @param after The ID to start after, or null for the first page.
+     * @param limit The maximum number of engineers to return.
+     * @return A page of engineer IDs and versions and the cursor of the next page.
+     * @throws BadRequestException if no skill is given.
+     */
+    public CursorPage<EngineerVersion> searchVersionsBySkills(Collection<String> all, Collection<String> any,
+                                                              Integer after, int limit) {
+        String[] allSkills = normalizeSkills(all);
+        String[] anySkills = normalizeSkills(any);
+        if (allSkills.length == 0 && anySkills.length == 0) {
+            throw new BadRequestException("At least one skill is required in 'all' or 'any'");
+        }
+        int start = after == null ? 0 : after;
+        List<EngineerVersion> versions = anySkills.length == 0
+                ? softwareEngineerRepository.findVersionsBySkillsIncludingAll(start, allSkills, Limit.of(limit + 1))
+                : softwareEngineerRepository.findVersionsBySkillsIncludingAllAndAny(start, allSkills, anySkills,
+                Limit.of(limit + 1));
+        return toVersionPage(versions, limit);
+    }
+
+    /**
+     * Loads the engineers of a page read by findPageVersions or searchVersionsBySkills.
+     * Engineers deleted since are left out.
+     *
+     * @param versions The page of engineer IDs and versions.
+     * @return The page of Software Engineer entities, with the same cursor.
+     */
+    public CursorPage<SoftwareEngineer> loadPage(CursorPage<EngineerVersion> versions) {
+        List<Integer> ids = versions.items().stream().map(EngineerVersion::id).toList();
+        List<SoftwareEngineer> engineers = ids.isEmpty() ? List.of() : softwareEngineerRepository.findByIdInOrderById(ids);
+        return new CursorPage<>(engineers, versions.nextCursor());
     }
 
     /**
      * Finds a Software Engineer by ID.
+     * Results are cached; concurrent misses for the same ID share a single load.
      *
      * @param id The ID of the Software Engineer.
      * @return The Software Engineer entity.
      * @throws NotFoundException if the Software Engineer with the given ID does not exist.
      */
+    @Cacheable(cacheNames = CacheConfig.ENGINEERS, key = "#id", sync = true)
     public SoftwareEngineer findById(Integer id) {
         return softwareEngineerRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Engineer not found with id: " + id));
     }
 
+    /**
+     * Finds the current version of a Software Engineer without loading it, for conditional requests.
+     * A cached engineer answers directly; otherwise only the version columns are read.
+     *
+     * @param id The ID of the Software Engineer.
+     * @return The version and last modification time.
+     * @throws NotFoundException if the Software Engineer with the given ID does not exist.
+     */
+    public EntityVersion findVersion(Integer id) {
+        Cache cache = cacheManager.getCache(CacheConfig.ENGINEERS);
+        SoftwareEngineer cached = cache == null ? null : cache.get(id, SoftwareEngineer.class);
+        if (cached != null) {
+            return new EntityVersion(cached.getVersion(), cached.getUpdatedAt());
+        }
+        return softwareEngineerRepository.findVersionById(id)
+                .orElseThrow(() -> new NotFoundException("Engineer not found with id: " + id));
+    }
+
+    /**
+     * Finds the learning path recommendations of a Software Engineer.
+     *
+     * @param id The ID of the Software Engineer.
+     * @return The recommendations, or null if none have been generated yet.
+     */
+    public String findLearningPath(Integer id) {
+        return learningPathStore.find(id).orElse(null);
+    }
+
+    /**
+     * Finds the learning path recommendations of several Software Engineers in one query.
+     *
+     * @param engineers The Software Engineers.
+     * @return The recommendations keyed by engineer ID; engineers without any are absent.
+     */
+    public Map<Integer, String> findLearningPaths(List<SoftwareEngineer> engineers) {
+        return learningPathStore.findAll(engineers.stream().map(SoftwareEngineer::getId).toList());
+    }
+
+    /**
+     * Searches the learning path recommendations of all Software Engineers in full text,
+     * e.g. everyone whose roadmap recommends Terraform. Matches are ranked by relevance.
+     *
+     * @param query  A web-search style query: words, "quoted phrases", OR and -excluded words.
+     * @param offset The number of matches to skip, or null for the first page.
+     * @param limit  The maximum number of matches to return.
+     * @return A page of matches with highlighted snippets and the offset of the next page.
+     * @throws BadRequestException if the query is blank.
+     */
+    public RankedPage<LearningPathHitDTO> searchLearningPaths(String query, Integer offset, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("A search query is required");
+        }
+        int start = offset == null || offset < 0 ? 0 : offset;
+        List<LearningPathHitDTO> hits = learningPathStore.search(query.trim(), start, limit + 1);
+        if (hits.size() <= limit) {
+            return new RankedPage<>(hits, null);
+        }
+        return new RankedPage<>(hits.subList(0, limit), start + limit);
+    }
+
     /**
      * Saves a new Software Engineer and generates AI-based learning path recommendations.
+     * When the AI is unavailable the engineer is saved without recommendations and left
+     * PENDING, to be enriched later.
      *
      * @param engineer The Software Engineer entity to save.
-     * @return The saved Software Engineer entity with learning path recommendations.
+     * @return The saved Software Engineer entity, with learning path recommendations when COMPLETED.
      */
     public SoftwareEngineer save(SoftwareEngineer engineer) {
-        String prompt = """
-                Create a technical learning roadmap for %s
-                Current tech stack: %s
-    
-                ## 🚀 Next Skills to Learn (Top 3)
-                Recommend complementary technologies based on their stack.
-                Prioritize by: market demand, career growth, and synergy with current skills.
-    
-                ## 📖 Learning Path
-                For each recommended skill:
-                - Best free resource (docs/tutorial)
-                - Top paid course (with platform name)
-                - Practice recommendation
-    
-                ## 🛠️ Portfolio Projects
-                Suggest 3 hands-on projects:
-                1. **Beginner:** Simple but impressive
-                2. **Intermediate:** Combines multiple skills
-                3. **Advanced:** Interview-worthy complexity
-    
-                Include tech stack for each project.
-    
-                Keep response under 300 words, actionable, and markdown-formatted.
-                """.formatted(engineer.getTechStack(), engineer.getName());
-
-        String chatRes = aiService.chat(prompt);
-        engineer.setLearningPathRecommendations(chatRes);
-        return softwareEngineerRepository.save(engineer);
-    }
-
-    /**
-     * Updates an existing Software Engineer.
-     *
-     * @param engineer The Software Engineer entity with updated information.
+        try {
+            String chatRes = learningPathGenerator.generate(engineer.getTechStack());
+            engineer.setLearningPathRecommendations(chatRes);
+            engineer.setEnrichmentStatus(EnrichmentStatus.COMPLETED);
+        } catch (AiUnavailableException e) {
+            log.warn("Saving engineer without learning path, enrichment deferred: {}", e.getMessage());
+            engineer.setLearningPathRecommendations(null);
+            engineer.setEnrichmentStatus(EnrichmentStatus.PENDING);
+        }
+        SoftwareEngineer saved = learningPathStore.save(engineer);
+        skillIndex.put(saved);
+        similarityIndex.refresh(saved.getId());
+        return saved;
+    }
+
+    /**
+     * Saves a new Software Engineer right away and queues the AI-based learning path
+     * recommendations to be generated in the background.
+     *
+     * @param engineer The Software Engineer entity to save.
+     * @return The saved Software Engineer entity, without learning path recommendations yet.
+     */
+    public SoftwareEngineer saveAsync(SoftwareEngineer engineer) {
+        engineer.setLearningPathRecommendations(null);
+        engineer.setEnrichmentStatus(EnrichmentStatus.PENDING);
+        SoftwareEngineer saved = learningPathStore.save(engineer);
+        skillIndex.put(saved);
+        similarityIndex.refresh(saved.getId());
+        if (!learningPathPipeline.submit(saved)) {
+            saved.setEnrichmentStatus(EnrichmentStatus.FAILED);
+        }
+        return saved;
+    }
+
+    /**
+     * Streams freshly generated AI-based learning path recommendations for an existing
+     * Software Engineer and stores the assembled text once the stream completes.
+     * A stream that completes without any text marks the engineer as FAILED instead.
+     *
+     * @param id The ID of the Software Engineer.
+     * @return The learning path recommendations as a stream of content chunks.
+     * @throws NotFoundException if the Software Engineer with the given ID does not exist.
+     */
+    public Flux<String> streamLearningPath(Integer id) {
+        SoftwareEngineer engineer = findById(id);
+        return Flux.defer(() -> {
+            StringBuilder recommendations = new StringBuilder();
+            return learningPathGenerator.stream(engineer.getTechStack())
+                    .doOnNext(recommendations::append)
+                    .concatWith(Mono.fromRunnable(() -> {
+                                if (recommendations.toString().isBlank()) {
+                                    log.warn("Streamed learning path for engineer {} was empty", id);
+                                    learningPathStore.fail(id);
+                                    return;
+                                }
+                                learningPathStore.complete(id, recommendations.toString());
+                                similarityIndex.refresh(id);
+                            })
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .then(Mono.empty()));
+        });
+    }
+
+    /**
+     * Retrieves the learning path generation status of a Software Engineer.
+     *
+     * @param id The ID of the Software Engineer.
+     * @return The enrichment status.
+     * @throws NotFoundException if the Software Engineer with the given ID does not exist.
+     */
+    public EnrichmentStatus getEnrichmentStatus(Integer id) {
+        return softwareEngineerRepository.findEnrichmentStatusById(id)
+                .orElseThrow(() -> new NotFoundException("Engineer not found with id: " + id));
+    }
+
+    /**
+     * Replaces an existing Software Engineer's name, tech stack and learning path recommendations.
+     * Null values clear the current ones.
+     *
+     * @param engineer        The Software Engineer entity with updated information.
+     * @param expectedVersion The version the caller last saw, or null to overwrite whatever is current.
      * @return The updated Software Engineer entity.
      * @throws NotFoundException if the Software Engineer with the given ID does not exist.
+     * @throws ConflictException if the Software Engineer is no longer at the expected version.
      */
-    public SoftwareEngineer update(SoftwareEngineer engineer) {
-        if (!softwareEngineerRepository.existsById(engineer.getId())) {
-            throw new NotFoundException("Engineer not found with id: " + engineer.getId());
-        }
+    @CacheEvict(cacheNames = CacheConfig.ENGINEERS, key = "#engineer.id")
+    public SoftwareEngineer update(SoftwareEngineer engineer, Long expectedVersion) {
+        SoftwareEngineer updated = learningPathStore.update(engineer.getId(), expectedVersion, engineer, false);
+        skillIndex.put(updated);
+        similarityIndex.refresh(updated.getId());
+        return updated;
+    }
 
-        return softwareEngineerRepository.save(engineer);
+    /**
+     * Changes only the given fields of an existing Software Engineer; null values are left untouched.
+     *
+     * @param id              The ID of the Software Engineer.
+     * @param changes         The fields to change.
+     * @param expectedVersion The version the caller last saw, or null to change whatever is current.
+     * @return The updated Software Engineer entity.
+     * @throws NotFoundException if the Software Engineer with the given ID does not exist.
+     * @throws ConflictException if the Software Engineer is no longer at the expected version.
+     */
+    @CacheEvict(cacheNames = CacheConfig.ENGINEERS, key = "#id")
+    public SoftwareEngineer patch(Integer id, SoftwareEngineer changes, Long expectedVersion) {
+        SoftwareEngineer updated = learningPathStore.update(id, expectedVersion, changes, true);
+        skillIndex.put(updated);
+        similarityIndex.refresh(id);
+        return updated;
     }
 
     /**
-     * Deletes a Software Engineer by ID.
+     * Deletes a Software Engineer by ID in a single statement.
      *
      * @param id The ID of the Software Engineer to delete.
      * @throws NotFoundException if the Software Engineer with the given ID does not exist.
      */
+    @CacheEvict(cacheNames = CacheConfig.ENGINEERS, key = "#id")
     public void deleteById(Integer id) {
-        if (!softwareEngineerRepository.existsById(id)) {
+        if (!learningPathStore.delete(id)) {
             throw new NotFoundException("Engineer not found with id: " + id);
         }
+        skillIndex.remove(id);
+        similarityIndex.refresh(id);
+    }
+
+    private static CursorPage<SoftwareEngineer> toPage(List<SoftwareEngineer> engineers, int limit) {
+        if (engineers.size() <= limit) {
+            return new CursorPage<>(engineers, null);
+        }
+        List<SoftwareEngineer> page = engineers.subList(0, limit);
+        return new CursorPage<>(page, page.getLast().getId());
+    }
+
+    private static CursorPage<EngineerVersion> toVersionPage(List<EngineerVersion> versions, int limit) {
+        if (versions.size() <= limit) {
+            return new CursorPage<>(versions, null);
+        }
+        List<EngineerVersion> page = versions.subList(0, limit);
+        return new CursorPage<>(page, page.getLast().id());
+    }
+
+    private static String[] normalizeSkills(Collection<String> skills) {
+        if (skills == null) {
+            return new String[0];
+        }
+        return skills.stream()
+                .map(SoftwareEngineer::normalizeSkill)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(String[]::new);
+    }
 
-        softwareEngineerRepository.deleteById(id);
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String toPrefixPattern(String prefix) {
+        String normalized = normalize(prefix);
+        if (normalized == null) {
+            return null;
+        }
+        return normalized.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
     }
 
 }
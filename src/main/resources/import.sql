@@ -0,0 +1,11 @@
+-- Executed by Hibernate after the schema is created (ddl-auto=create/create-drop).
+-- One statement per line.
+CREATE INDEX IF NOT EXISTS idx_software_engineer_name_lower ON software_engineer (lower(name) text_pattern_ops, id);
+CREATE INDEX IF NOT EXISTS idx_tech_stack_lower ON software_engineer_tech_stack (lower(tech_stack), software_engineer_id);
+CREATE INDEX IF NOT EXISTS idx_tech_stack_engineer ON software_engineer_tech_stack (software_engineer_id);
+CREATE INDEX IF NOT EXISTS idx_software_engineer_skills ON software_engineer USING gin (skills);
+ALTER TABLE learning_path ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (to_tsvector('english', recommendations)) STORED;
+CREATE INDEX IF NOT EXISTS idx_learning_path_search ON learning_path USING gin (search_vector) WITH (fastupdate = on);
+CREATE INDEX IF NOT EXISTS idx_engineer_change_unpublished ON engineer_change (id) WHERE position IS NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_engineer_change_position ON engineer_change (position);
+CREATE INDEX IF NOT EXISTS idx_engineer_change_published_at ON engineer_change USING brin (published_at);
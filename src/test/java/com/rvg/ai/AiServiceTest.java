@@ -0,0 +1,225 @@
+package com.rvg.ai;
+
+import com.rvg.errors.AiUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the retry, circuit breaker, time limit and metrics around AiService calls.
+ */
+class AiServiceTest {
+
+    private ChatClient chatClient;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private AiInteractionLog interactionLog;
+    private AiService aiService;
+
+    @BeforeEach
+    void setUp() {
+        chatClient = mock(ChatClient.class, RETURNS_DEEP_STUBS);
+        ChatClient.Builder chatClientBuilder = mock(ChatClient.Builder.class);
+        when(chatClientBuilder.build()).thenReturn(chatClient);
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .retryExceptions(TransientAiException.class)
+                .build());
+        TimeLimiterRegistry timeLimiterRegistry = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(200))
+                .build());
+        meterRegistry = new SimpleMeterRegistry();
+        interactionLog = mock(AiInteractionLog.class);
+        when(interactionLog.hash(anyString())).thenReturn("hash");
+        aiService = new AiService(chatClientBuilder, circuitBreakerRegistry, retryRegistry,
+                RateLimiterRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(), timeLimiterRegistry, meterRegistry,
+                interactionLog);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aiService.shutdown();
+    }
+
+    @Test
+    void chat_WhenProviderFailsTransiently_ShouldRetryAndReturnResponse() {
+        // Arrange
+        when(chatClient.prompt().user(anyString()).call().chatResponse())
+                .thenThrow(new TransientAiException("503 Service Unavailable"))
+                .thenReturn(response("## Next Skills"));
+
+        // Act
+        String result = aiService.chat("prompt");
+
+        // Assert
+        assertEquals("## Next Skills", result);
+        assertEquals(1, meterRegistry.get(AiService.TIMER).tags("mode", "call", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void chat_WhenProviderKeepsFailing_ShouldThrowAiUnavailable() {
+        // Arrange
+        when(chatClient.prompt().user(anyString()).call().chatResponse())
+                .thenThrow(new TransientAiException("429 Too Many Requests"));
+
+        // Act & Assert
+        assertThrows(AiUnavailableException.class, () -> aiService.chat("prompt"));
+    }
+
+    @Test
+    void chat_WhenRequestIsRejected_ShouldNotRetry() {
+        // Arrange
+        when(chatClient.prompt().user(anyString()).call().chatResponse())
+                .thenThrow(new NonTransientAiException("400 Bad Request"));
+
+        // Act
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> aiService.chat("prompt"));
+
+        // Assert
+        assertFalse(exception instanceof AiUnavailableException);
+        assertEquals(1, circuitBreakerRegistry.circuitBreaker(AiService.INSTANCE).getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void chat_WhenCircuitIsOpen_ShouldFailFastWithoutCallingProvider() {
+        // Arrange
+        circuitBreakerRegistry.circuitBreaker(AiService.INSTANCE).transitionToOpenState();
+
+        // Act & Assert
+        AiUnavailableException exception = assertThrows(AiUnavailableException.class, () -> aiService.chat("prompt"));
+        assertEquals("AI service unavailable: circuit breaker is open", exception.getMessage());
+        verify(chatClient, never()).prompt();
+        assertEquals(1, meterRegistry.get(AiService.TIMER)
+                .tags("outcome", "circuit_open", "exception", "CallNotPermittedException").timer().count());
+        ArgumentCaptor<AiInteraction> interaction = ArgumentCaptor.forClass(AiInteraction.class);
+        verify(interactionLog).append(interaction.capture());
+        assertEquals("circuit_open", interaction.getValue().outcome());
+        assertNull(interaction.getValue().response());
+    }
+
+    @Test
+    void chat_WhenProviderIsTooSlow_ShouldTimeOut() {
+        // Arrange
+        when(chatClient.prompt().user(anyString()).call().chatResponse()).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return response("## Next Skills");
+        });
+
+        // Act & Assert
+        AiUnavailableException exception = assertThrows(AiUnavailableException.class, () -> aiService.chat("prompt"));
+        assertEquals("AI service unavailable: request timed out", exception.getMessage());
+    }
+
+    @Test
+    void stream_WhenCircuitIsOpen_ShouldEmitAiUnavailable() {
+        // Arrange
+        circuitBreakerRegistry.circuitBreaker(AiService.INSTANCE).transitionToOpenState();
+        when(chatClient.prompt().user(anyString()).stream().chatResponse()).thenReturn(Flux.just(response("## Next Skills")));
+
+        // Act & Assert
+        assertThrows(AiUnavailableException.class, () -> aiService.stream("prompt").collectList().block());
+    }
+
+    @Test
+    void chat_ShouldRecordTokenUsageAndOutcome() {
+        // Arrange
+        when(chatClient.prompt().user(anyString()).call().chatResponse()).thenReturn(response("## Next Skills"));
+
+        // Act
+        aiService.chat("prompt");
+
+        // Assert
+        ArgumentCaptor<AiInteraction> interaction = ArgumentCaptor.forClass(AiInteraction.class);
+        verify(interactionLog).append(interaction.capture());
+        assertEquals("call", interaction.getValue().mode());
+        assertEquals("hash", interaction.getValue().promptHash());
+        assertEquals("test-model", interaction.getValue().model());
+        assertEquals(12, interaction.getValue().promptTokens());
+        assertEquals(34, interaction.getValue().completionTokens());
+        assertEquals("success", interaction.getValue().outcome());
+        assertEquals("## Next Skills", interaction.getValue().response());
+    }
+
+    @Test
+    void chat_WhenPromptWasAnsweredBefore_ShouldReplayWithoutCallingProvider() {
+        // Arrange
+        when(interactionLog.findReplay("hash")).thenReturn(Optional.of("## Recorded Skills"));
+
+        // Act
+        String result = aiService.chat("prompt");
+
+        // Assert
+        assertEquals("## Recorded Skills", result);
+        verify(chatClient, never()).prompt();
+        ArgumentCaptor<AiInteraction> interaction = ArgumentCaptor.forClass(AiInteraction.class);
+        verify(interactionLog).append(interaction.capture());
+        assertEquals("replayed", interaction.getValue().outcome());
+        assertNull(interaction.getValue().promptTokens());
+    }
+
+    @Test
+    void stream_ShouldEmitContentAndRecordTheUsageOfTheLastChunk() {
+        // Arrange
+        ChatResponse usageOnly = new ChatResponse(List.of(), ChatResponseMetadata.builder()
+                .model("test-model")
+                .usage(new DefaultUsage(12, 34))
+                .build());
+        when(chatClient.prompt().user(anyString()).stream().chatResponse()).thenReturn(Flux.just(
+                new ChatResponse(List.of(new Generation(new AssistantMessage("## Next ")))),
+                new ChatResponse(List.of(new Generation(new AssistantMessage("Skills")))),
+                usageOnly));
+
+        // Act
+        List<String> chunks = aiService.stream("prompt").collectList().block();
+
+        // Assert
+        assertEquals(List.of("## Next ", "Skills"), chunks);
+        ArgumentCaptor<AiInteraction> interaction = ArgumentCaptor.forClass(AiInteraction.class);
+        verify(interactionLog).append(interaction.capture());
+        assertEquals("stream", interaction.getValue().mode());
+        assertEquals(34, interaction.getValue().completionTokens());
+        assertNull(interaction.getValue().response());
+        verify(interactionLog, never()).findReplay(anyString());
+    }
+
+    private static ChatResponse response(String content) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(content))), ChatResponseMetadata.builder()
+                .model("test-model")
+                .usage(new DefaultUsage(12, 34))
+                .build());
+    }
+}
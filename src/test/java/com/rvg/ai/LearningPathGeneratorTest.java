@@ -0,0 +1,283 @@
+package com.rvg.ai;
+
+import com.rvg.errors.AiUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LearningPathGenerator and RecommendationCache using Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class LearningPathGeneratorTest {
+
+    @Mock
+    private AiService aiService;
+
+    @Mock
+    private PersistentRecommendationStore persistentStore;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LearningPathGenerator learningPathGenerator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RecommendationCache recommendationCache = new RecommendationCache(
+                persistentStore, meterRegistry, 100, Duration.ofHours(1));
+        learningPathGenerator = new LearningPathGenerator(aiService, recommendationCache, meterRegistry);
+    }
+
+    @Test
+    void keyFor_ShouldIgnoreOrderCasingAndDuplicates() {
+        // Act
+        String key = RecommendationCache.keyFor(List.of("Kubernetes", "Docker", "AWS"));
+        String equivalentKey = RecommendationCache.keyFor(List.of(" aws", "docker", "KUBERNETES", "Docker"));
+        String otherKey = RecommendationCache.keyFor(List.of("Kubernetes", "Docker", "GCP"));
+
+        // Assert
+        assertEquals(key, equivalentKey);
+        assertNotEquals(key, otherKey);
+    }
+
+    @Test
+    void generate_WhenStackWasSeenBefore_ShouldReuseCachedRecommendations() {
+        // Arrange
+        when(aiService.chat(anyString())).thenReturn("AI-generated learning path");
+
+        // Act
+        String first = learningPathGenerator.generate(List.of("Java", "Spring Boot", "PostgreSQL"));
+        String second = learningPathGenerator.generate(List.of("PostgreSQL", "spring boot", "Java"));
+
+        // Assert
+        assertEquals("AI-generated learning path", first);
+        assertEquals(first, second);
+        verify(aiService, times(1)).chat(anyString());
+    }
+
+    @Test
+    void generate_WhenPersistentTierHasRecommendations_ShouldNotCallAi() {
+        // Arrange
+        when(persistentStore.isEnabled()).thenReturn(true);
+        when(persistentStore.find(anyString())).thenReturn(Optional.of("Stored learning path"));
+
+        // Act
+        String result = learningPathGenerator.generate(List.of("Go", "Kubernetes"));
+
+        // Assert
+        assertEquals("Stored learning path", result);
+        verify(aiService, never()).chat(anyString());
+        verify(persistentStore, never()).save(anyString(), any());
+    }
+
+    @Test
+    void stream_WhenNotCached_ShouldStreamFromAiAndCacheAssembledText() {
+        // Arrange
+        when(aiService.stream(anyString())).thenReturn(Flux.just("## Next", " Skills"));
+
+        // Act
+        List<String> chunks = learningPathGenerator.stream(List.of("Java")).collectList().block();
+        String cached = learningPathGenerator.generate(List.of("java"));
+
+        // Assert
+        assertEquals(List.of("## Next", " Skills"), chunks);
+        assertEquals("## Next Skills", cached);
+        verify(aiService, never()).chat(anyString());
+    }
+
+    @Test
+    void stream_WhenCached_ShouldEmitCachedTextWithoutCallingAi() {
+        // Arrange
+        when(aiService.chat(anyString())).thenReturn("AI-generated learning path");
+        learningPathGenerator.generate(List.of("Java"));
+
+        // Act
+        List<String> chunks = learningPathGenerator.stream(List.of("Java")).collectList().block();
+
+        // Assert
+        assertEquals(List.of("AI-generated learning path"), chunks);
+        verify(aiService, never()).stream(anyString());
+    }
+
+    @Test
+    void generate_WhenAiReturnsBlank_ShouldNotCacheIt() {
+        // Arrange
+        when(aiService.chat(anyString())).thenReturn("");
+
+        // Act
+        learningPathGenerator.generate(List.of("Rust"));
+        learningPathGenerator.generate(List.of("Rust"));
+
+        // Assert
+        verify(aiService, times(2)).chat(anyString());
+    }
+
+    @Test
+    void generate_WhenEquivalentStackIsInFlight_ShouldShareTheAiCall() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(aiService.chat(anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "AI-generated learning path";
+        });
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executor.submit(() -> learningPathGenerator.generate(List.of("Java", "Kafka")));
+            verify(aiService, timeout(5000)).chat(anyString());
+            Future<String> second = executor.submit(() -> learningPathGenerator.generate(List.of("kafka", "java")));
+            awaitCoalesced(1);
+            release.countDown();
+
+            // Assert
+            assertEquals("AI-generated learning path", first.get(5, TimeUnit.SECONDS));
+            assertEquals("AI-generated learning path", second.get(5, TimeUnit.SECONDS));
+        }
+        verify(aiService, times(1)).chat(anyString());
+        assertEquals(0, meterRegistry.get("ai.recommendations.in_flight").gauge().value());
+    }
+
+    @Test
+    void generate_WhenSharedAiCallFails_ShouldFailEveryWaitingCaller() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(aiService.chat(anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new AiUnavailableException("AI service is temporarily unavailable", null);
+        });
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executor.submit(() -> learningPathGenerator.generate(List.of("Go")));
+            verify(aiService, timeout(5000)).chat(anyString());
+            Future<String> second = executor.submit(() -> learningPathGenerator.generate(List.of("go")));
+            awaitCoalesced(1);
+            release.countDown();
+
+            // Assert
+            ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+            ExecutionException secondFailure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(AiUnavailableException.class, firstFailure.getCause());
+            assertInstanceOf(AiUnavailableException.class, secondFailure.getCause());
+        }
+        verify(aiService, times(1)).chat(anyString());
+    }
+
+    @Test
+    void generate_WhenSharedAiCallThrowsError_ShouldNotLeaveWaitingCallersBlocked() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(aiService.chat(anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new StackOverflowError();
+        });
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executor.submit(() -> learningPathGenerator.generate(List.of("Go")));
+            verify(aiService, timeout(5000)).chat(anyString());
+            Future<String> second = executor.submit(() -> learningPathGenerator.generate(List.of("go")));
+            awaitCoalesced(1);
+            release.countDown();
+
+            // Assert
+            ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+            ExecutionException secondFailure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, firstFailure.getCause());
+            assertInstanceOf(StackOverflowError.class, secondFailure.getCause());
+        }
+        assertEquals(0, meterRegistry.get("ai.recommendations.in_flight").gauge().value());
+    }
+
+    @Test
+    void generateAll_ShouldAskForUncachedStacksInOneCallAndFallBackForMissingAnswers() {
+        // Arrange
+        when(aiService.chat(anyString())).thenAnswer(invocation -> {
+            String prompt = invocation.getArgument(0);
+            if (prompt.startsWith("Create a technical learning roadmap for each")) {
+                return "```json\n{\"1\": \"Go learning path\", \"2\": \"\"}\n```";
+            }
+            return prompt.contains("[Java]") ? "Java learning path" : "Rust learning path";
+        });
+        learningPathGenerator.generate(List.of("Java"));
+
+        // Act
+        List<GenerationResult> results = learningPathGenerator.generateAll(
+                List.of(List.of("Go"), List.of("Java"), List.of("Rust"), List.of("go")));
+
+        // Assert
+        assertEquals(List.of("Go learning path", "Java learning path", "Rust learning path", "Go learning path"),
+                results.stream().map(GenerationResult::get).toList());
+        verify(aiService, times(3)).chat(anyString());
+        assertEquals(1, meterRegistry.get("ai.recommendations.batch.items").tag("result", "parsed").counter().count());
+        assertEquals(1, meterRegistry.get("ai.recommendations.batch.items").tag("result", "fallback").counter().count());
+        assertEquals("Rust learning path", learningPathGenerator.generate(List.of("Rust")));
+    }
+
+    @Test
+    void generateAll_WhenFallbackForOneStackFails_ShouldStillReturnTheOthers() {
+        // Arrange
+        AiUnavailableException unavailable = new AiUnavailableException("AI service is temporarily unavailable", null);
+        when(aiService.chat(anyString())).thenAnswer(invocation -> {
+            String prompt = invocation.getArgument(0);
+            if (prompt.startsWith("Create a technical learning roadmap for each")) {
+                return "{\"1\": \"Go learning path\", \"2\": \"Java learning path\", \"3\": \"Rust learning path\","
+                        + " \"4\": \"Scala learning path\"}";
+            }
+            throw unavailable;
+        });
+        List<List<String>> techStacks = List.of(
+                List.of("Go"), List.of("Java"), List.of("Rust"), List.of("Scala"), List.of("Elixir"));
+
+        // Act
+        List<GenerationResult> results = learningPathGenerator.generateAll(techStacks);
+
+        // Assert
+        assertEquals(List.of("Go learning path", "Java learning path", "Rust learning path", "Scala learning path"),
+                results.subList(0, 4).stream().map(GenerationResult::get).toList());
+        assertSame(unavailable, results.get(4).failure());
+        assertEquals(4, meterRegistry.get("ai.recommendations.batch.items").tag("result", "parsed").counter().count());
+        assertEquals(0, meterRegistry.get("ai.recommendations.in_flight").gauge().value());
+        assertEquals("Scala learning path", learningPathGenerator.generate(List.of("Scala")));
+        assertThrows(AiUnavailableException.class, () -> learningPathGenerator.generate(List.of("Elixir")));
+        verify(aiService, times(3)).chat(anyString());
+    }
+
+    @Test
+    void parseBatch_WhenResponseIsNotJson_ShouldReturnNoRecommendations() {
+        // Act
+        Map<Integer, String> parsed = LearningPathPrompt.parseBatch("Sorry, here are the roadmaps: 1. Learn Go {");
+
+        // Assert
+        assertTrue(parsed.isEmpty());
+    }
+
+    private void awaitCoalesced(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("ai.recommendations.coalesced").counter().count() < count) {
+            assertTrue(System.nanoTime() < deadline, "caller did not join the call in flight");
+            Thread.sleep(10);
+        }
+    }
+}
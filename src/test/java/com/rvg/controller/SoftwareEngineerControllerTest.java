@@ -1,25 +1,51 @@
 package com.rvg.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rvg.EnrichmentStatus;
 import com.rvg.SoftwareEngineer;
+import com.rvg.dto.BulkImportItemResult;
+import com.rvg.dto.BulkImportResult;
+import com.rvg.dto.CursorPage;
+import com.rvg.dto.EngineerVersion;
+import com.rvg.dto.EntityVersion;
+import com.rvg.dto.LearningPathHitDTO;
+import com.rvg.dto.RankedPage;
 import com.rvg.dto.SoftwareEngineerDTO;
+import com.rvg.errors.BadRequestException;
+import com.rvg.errors.ConflictException;
 import com.rvg.errors.GlobalExceptionHandler;
 import com.rvg.errors.NotFoundException;
+import com.rvg.service.BulkImportService;
+import com.rvg.service.EngineerExportService;
+import com.rvg.service.ExportFormat;
 import com.rvg.service.SoftwareEngineerService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,6 +63,12 @@ class SoftwareEngineerControllerTest {
     @MockitoBean
     private SoftwareEngineerService softwareEngineerService;
 
+    @MockitoBean
+    private EngineerExportService engineerExportService;
+
+    @MockitoBean
+    private BulkImportService bulkImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -60,7 +92,7 @@ class SoftwareEngineerControllerTest {
     }
 
     @Test
-    void getAllEngineers_ShouldReturnListOfEngineers() throws Exception {
+    void getAllEngineers_ShouldReturnPageOfEngineers() throws Exception {
         // Arrange
         SoftwareEngineer engineer2 = new SoftwareEngineer(
                 2,
@@ -68,41 +100,197 @@ class SoftwareEngineerControllerTest {
                 Arrays.asList("Python", "Django", "MongoDB"),
                 null
         );
-        List<SoftwareEngineer> engineers = Arrays.asList(testEngineer, engineer2);
-        when(softwareEngineerService.getAllSoftwareEngineers()).thenReturn(engineers);
+        CursorPage<SoftwareEngineer> page = new CursorPage<>(Arrays.asList(testEngineer, engineer2), 2);
+        CursorPage<EngineerVersion> versions = stubLoad(page);
+        when(softwareEngineerService.findPageVersions(null, 20, null, null)).thenReturn(versions);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/software-engineers")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].id", is(1)))
-                .andExpect(jsonPath("$[0].name", is("John Doe")))
-                .andExpect(jsonPath("$[0].techStack", hasSize(3)))
-                .andExpect(jsonPath("$[1].id", is(2)))
-                .andExpect(jsonPath("$[1].name", is("Jane Smith")));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.items[0].name", is("John Doe")))
+                .andExpect(jsonPath("$.items[0].techStack", hasSize(3)))
+                .andExpect(jsonPath("$.items[1].id", is(2)))
+                .andExpect(jsonPath("$.items[1].name", is("Jane Smith")))
+                .andExpect(jsonPath("$.items[0].learningPathRecommendations").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor", is(2)));
+
+        verify(softwareEngineerService, times(1)).findPageVersions(null, 20, null, null);
+        verify(softwareEngineerService, never()).findLearningPaths(any());
+    }
+
+    @Test
+    void searchEngineers_ShouldPassAllAndAnySkills() throws Exception {
+        // Arrange
+        CursorPage<EngineerVersion> versions = stubLoad(new CursorPage<>(List.of(testEngineer), null));
+        when(softwareEngineerService.searchVersionsBySkills(List.of("Java", "Kafka"), List.of("AWS", "GCP"), null, 20))
+                .thenReturn(versions);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/software-engineers/search")
+                        .param("all", "Java,Kafka")
+                        .param("any", "AWS", "GCP"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].learningPathRecommendations").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void searchEngineers_WithoutSkills_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(softwareEngineerService.searchVersionsBySkills(null, null, null, 20))
+                .thenThrow(new BadRequestException("At least one skill is required in 'all' or 'any'"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/software-engineers/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchLearningPaths_ShouldReturnRankedHitsWithSnippets() throws Exception {
+        // Arrange
+        when(softwareEngineerService.searchLearningPaths("terraform", null, 20))
+                .thenReturn(new RankedPage<>(List.of(
+                        new LearningPathHitDTO(1, "John Doe", 0.8, "Learn <mark>Terraform</mark>")), 20));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/software-engineers/learning-paths/search").param("q", "terraform"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].engineerId").value(1))
+                .andExpect(jsonPath("$.items[0].snippet").value("Learn <mark>Terraform</mark>"))
+                .andExpect(jsonPath("$.nextOffset").value(20));
+    }
+
+    @Test
+    void getAllEngineers_WithFullView_ShouldIncludeLearningPaths() throws Exception {
+        // Arrange
+        List<SoftwareEngineer> engineers = List.of(testEngineer);
+        CursorPage<EngineerVersion> versions = stubLoad(new CursorPage<>(engineers, null));
+        when(softwareEngineerService.findPageVersions(null, 20, null, null)).thenReturn(versions);
+        when(softwareEngineerService.findLearningPaths(engineers)).thenReturn(Map.of(1, "## Next Skills"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/software-engineers")
+                        .param("view", "full"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].learningPathRecommendations", is("## Next Skills")));
 
-        verify(softwareEngineerService, times(1)).getAllSoftwareEngineers();
+        verify(softwareEngineerService, times(1)).findLearningPaths(engineers);
     }
 
     @Test
-    void getAllEngineers_WhenEmpty_ShouldReturnEmptyList() throws Exception {
+    void getAllEngineers_WhenETagMatches_ShouldReturnNotModifiedWithoutLoadingEngineers() throws Exception {
         // Arrange
-        when(softwareEngineerService.getAllSoftwareEngineers()).thenReturn(Arrays.asList());
+        List<SoftwareEngineer> engineers = List.of(testEngineer);
+        CursorPage<SoftwareEngineer> page = new CursorPage<>(engineers, null);
+        when(softwareEngineerService.findPageVersions(null, 20, null, null)).thenAnswer(invocation -> versionsOf(page));
+        when(softwareEngineerService.loadPage(any())).thenReturn(page);
+        String eTag = mockMvc.perform(get("/api/v1/software-engineers").param("view", "full"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/software-engineers")
+                        .param("view", "full")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        testEngineer.setVersion(1L);
+        mockMvc.perform(get("/api/v1/software-engineers")
+                        .param("view", "full")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+
+        verify(softwareEngineerService, times(2)).loadPage(any());
+        verify(softwareEngineerService, times(2)).findLearningPaths(engineers);
+    }
+
+    @Test
+    void getAllEngineers_WithUnsupportedView_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/software-engineers")
+                        .param("view", "everything"))
+                .andExpect(status().isBadRequest());
+
+        verify(softwareEngineerService, never()).findPageVersions(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void getAllEngineers_WhenEmpty_ShouldReturnEmptyPage() throws Exception {
+        // Arrange
+        CursorPage<EngineerVersion> versions = stubLoad(new CursorPage<>(Arrays.asList(), null));
+        when(softwareEngineerService.findPageVersions(null, 20, null, null)).thenReturn(versions);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/software-engineers")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(softwareEngineerService, times(1)).findPageVersions(null, 20, null, null);
+    }
+
+    @Test
+    void getAllEngineers_ShouldCapPageSizeAndPassFilters() throws Exception {
+        // Arrange
+        CursorPage<EngineerVersion> versions = stubLoad(new CursorPage<>(List.of(testEngineer), null));
+        when(softwareEngineerService.findPageVersions(5, 100, "jo", "java")).thenReturn(versions);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/software-engineers")
+                        .param("after", "5")
+                        .param("limit", "5000")
+                        .param("namePrefix", "jo")
+                        .param("tech", "java"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)));
+
+        verify(softwareEngineerService, times(1)).findPageVersions(5, 100, "jo", "java");
+    }
+
+    @Test
+    void exportEngineers_ShouldStreamNdjson() throws Exception {
+        // Arrange
+        when(engineerExportService.export(eq(ExportFormat.NDJSON), any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/v1/software-engineers/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string("Content-Disposition", containsString("software-engineers.ndjson")))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    void exportEngineers_WithUnsupportedFormat_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/software-engineers/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
 
-        verify(softwareEngineerService, times(1)).getAllSoftwareEngineers();
+        verifyNoInteractions(engineerExportService);
     }
 
     @Test
     void getEngineerById_WhenEngineerExists_ShouldReturnEngineer() throws Exception {
         // Arrange
+        when(softwareEngineerService.findVersion(1)).thenReturn(new EntityVersion(4L, Instant.parse("2026-01-01T00:00:00Z")));
         when(softwareEngineerService.findById(1)).thenReturn(testEngineer);
+        when(softwareEngineerService.findLearningPath(1)).thenReturn("## Next Skills");
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/software-engineers/1")
@@ -113,15 +301,63 @@ class SoftwareEngineerControllerTest {
                 .andExpect(jsonPath("$.techStack", hasSize(3)))
                 .andExpect(jsonPath("$.techStack[0]", is("Java")))
                 .andExpect(jsonPath("$.techStack[1]", is("Spring Boot")))
-                .andExpect(jsonPath("$.techStack[2]", is("PostgreSQL")));
+                .andExpect(jsonPath("$.techStack[2]", is("PostgreSQL")))
+                .andExpect(jsonPath("$.learningPathRecommendations", is("## Next Skills")))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4-full\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Thu, 01 Jan 2026 00:00:00 GMT"));
 
         verify(softwareEngineerService, times(1)).findById(1);
     }
 
+    @Test
+    void getEngineerById_WhenETagMatches_ShouldReturnNotModifiedWithoutLoadingEngineer() throws Exception {
+        // Arrange
+        when(softwareEngineerService.findVersion(1)).thenReturn(new EntityVersion(4L, Instant.parse("2026-01-01T00:00:00Z")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/software-engineers/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-4-full\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(softwareEngineerService, never()).findById(any());
+        verify(softwareEngineerService, never()).findLearningPath(any());
+    }
+
+    @Test
+    void getEngineerById_WhenVersionChanged_ShouldReturnEngineer() throws Exception {
+        // Arrange
+        when(softwareEngineerService.findVersion(1)).thenReturn(new EntityVersion(5L, Instant.parse("2026-01-02T00:00:00Z")));
+        when(softwareEngineerService.findById(1)).thenReturn(testEngineer);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/software-engineers/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-4-full\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-5-full\""));
+    }
+
+    @Test
+    void getEngineerById_WithSummaryView_ShouldNotReadLearningPath() throws Exception {
+        // Arrange
+        when(softwareEngineerService.findVersion(1)).thenReturn(new EntityVersion(4L, Instant.parse("2026-01-01T00:00:00Z")));
+        when(softwareEngineerService.findById(1)).thenReturn(testEngineer);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/software-engineers/1")
+                        .param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("John Doe")))
+                .andExpect(jsonPath("$.learningPathRecommendations").doesNotExist())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4-summary\""));
+
+        verify(softwareEngineerService, never()).findLearningPath(any());
+    }
+
     @Test
     void getEngineerById_WhenEngineerDoesNotExist_ShouldReturnNotFound() throws Exception {
         // Arrange
-        when(softwareEngineerService.findById(999))
+        when(softwareEngineerService.findVersion(999))
                 .thenThrow(new NotFoundException("Engineer not found with id: 999"));
 
         // Act & Assert
@@ -129,7 +365,7 @@ class SoftwareEngineerControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
 
-        verify(softwareEngineerService, times(1)).findById(999);
+        verify(softwareEngineerService, never()).findById(999);
     }
 
     @Test
@@ -147,6 +383,7 @@ class SoftwareEngineerControllerTest {
                 Arrays.asList("JavaScript", "React", "Node.js"),
                 null
         );
+        savedEngineer.setEnrichmentStatus(EnrichmentStatus.COMPLETED);
         when(softwareEngineerService.save(any(SoftwareEngineer.class))).thenReturn(savedEngineer);
 
         // Act & Assert
@@ -162,6 +399,187 @@ class SoftwareEngineerControllerTest {
         verify(softwareEngineerService, times(1)).save(any(SoftwareEngineer.class));
     }
 
+    @Test
+    void createEngineer_WhenEnrichmentDeferred_ShouldReturnAcceptedWithStatus() throws Exception {
+        // Arrange
+        SoftwareEngineerDTO newEngineerDTO = new SoftwareEngineerDTO(
+                null,
+                "Alice Johnson",
+                Arrays.asList("JavaScript", "React", "Node.js"),
+                null
+        );
+        SoftwareEngineer savedEngineer = new SoftwareEngineer(
+                3,
+                "Alice Johnson",
+                Arrays.asList("JavaScript", "React", "Node.js"),
+                null
+        );
+        savedEngineer.setEnrichmentStatus(EnrichmentStatus.PENDING);
+        when(softwareEngineerService.save(any(SoftwareEngineer.class))).thenReturn(savedEngineer);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/software-engineers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newEngineerDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", org.hamcrest.Matchers.endsWith("/api/v1/software-engineers/3/status")))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+    }
+
+    @Test
+    void createEngineer_WhenAsync_ShouldReturnAcceptedWithStatus() throws Exception {
+        // Arrange
+        SoftwareEngineerDTO newEngineerDTO = new SoftwareEngineerDTO(
+                null,
+                "Alice Johnson",
+                Arrays.asList("JavaScript", "React", "Node.js"),
+                null
+        );
+        SoftwareEngineer savedEngineer = new SoftwareEngineer(
+                3,
+                "Alice Johnson",
+                Arrays.asList("JavaScript", "React", "Node.js"),
+                null
+        );
+        when(softwareEngineerService.saveAsync(any(SoftwareEngineer.class))).thenReturn(savedEngineer);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/software-engineers")
+                        .param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newEngineerDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", org.hamcrest.Matchers.endsWith("/api/v1/software-engineers/3/status")))
+                .andExpect(jsonPath("$.id", is(3)))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+
+        verify(softwareEngineerService, times(1)).saveAsync(any(SoftwareEngineer.class));
+        verify(softwareEngineerService, never()).save(any(SoftwareEngineer.class));
+    }
+
+    @Test
+    void streamLearningPath_ShouldSendChunkEventsThenComplete() throws Exception {
+        // Arrange
+        when(softwareEngineerService.streamLearningPath(1)).thenReturn(Flux.just("## Next", " Skills"));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/v1/software-engineers/1/learning-path/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("event:chunk\ndata:{\"content\":\"## Next\"}")))
+                .andExpect(content().string(containsString("data:{\"content\":\" Skills\"}")))
+                .andExpect(content().string(containsString("event:complete")));
+    }
+
+    @Test
+    void streamLearningPath_WhenGenerationFails_ShouldSendErrorEventWithoutInternalDetails() throws Exception {
+        // Arrange
+        when(softwareEngineerService.streamLearningPath(1)).thenReturn(Flux.concat(Flux.just("## Next"),
+                Flux.error(new IllegalStateException("could not execute statement [jdbc:postgresql://db:5432]"))));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/v1/software-engineers/1/learning-path/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("event:error\ndata:{\"content\":\"Learning path generation failed\"}")))
+                .andExpect(content().string(not(containsString("jdbc"))));
+    }
+
+    @Test
+    void streamLearningPath_WhenEngineerDoesNotExist_ShouldReturnNotFound() throws Exception {
+        // Arrange
+        when(softwareEngineerService.streamLearningPath(999))
+                .thenThrow(new NotFoundException("Engineer not found with id: 999"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/software-engineers/999/learning-path/stream"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getEnrichmentStatus_WhenEngineerExists_ShouldReturnStatus() throws Exception {
+        // Arrange
+        when(softwareEngineerService.getEnrichmentStatus(1)).thenReturn(EnrichmentStatus.COMPLETED);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/software-engineers/1/status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.status", is("COMPLETED")));
+    }
+
+    @Test
+    void getEnrichmentStatus_WhenEngineerDoesNotExist_ShouldReturnNotFound() throws Exception {
+        // Arrange
+        when(softwareEngineerService.getEnrichmentStatus(999))
+                .thenThrow(new NotFoundException("Engineer not found with id: 999"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/software-engineers/999/status"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void bulkCreateEngineers_WithJsonArray_ShouldImportEveryItem() throws Exception {
+        // Arrange
+        List<String> importedNames = new ArrayList<>();
+        when(bulkImportService.importEngineers(any(), eq(true))).thenAnswer(invocation -> {
+            Iterator<SoftwareEngineerDTO> dtos = invocation.getArgument(0);
+            dtos.forEachRemaining(dto -> importedNames.add(dto.name()));
+            return new BulkImportResult(2, 2, 0, 5, 400.0, List.of(
+                    new BulkImportItemResult(0, 10, BulkImportItemResult.Status.CREATED, null),
+                    new BulkImportItemResult(1, 11, BulkImportItemResult.Status.CREATED, null)));
+        });
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/software-engineers/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(testEngineerDTO,
+                                new SoftwareEngineerDTO(null, "Jane Smith", List.of("Python"), null)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.rowsPerSecond", is(400.0)))
+                .andExpect(jsonPath("$.items[1].id", is(11)))
+                .andExpect(jsonPath("$.items[1].status", is("CREATED")));
+
+        assertEquals(List.of("John Doe", "Jane Smith"), importedNames);
+    }
+
+    @Test
+    void bulkCreateEngineers_WithNdjson_ShouldImportEveryLine() throws Exception {
+        // Arrange
+        List<String> importedNames = new ArrayList<>();
+        when(bulkImportService.importEngineers(any(), eq(false))).thenAnswer(invocation -> {
+            Iterator<SoftwareEngineerDTO> dtos = invocation.getArgument(0);
+            dtos.forEachRemaining(dto -> importedNames.add(dto.name()));
+            return new BulkImportResult(2, 2, 0, 5, 400.0, List.of());
+        });
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/software-engineers/bulk")
+                        .param("enrich", "false")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                                {"name":"John Doe","techStack":["Java"]}
+                                {"name":"Jane Smith","techStack":["Python"]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(2)));
+
+        assertEquals(List.of("John Doe", "Jane Smith"), importedNames);
+    }
+
     @Test
     void updateEngineer_WhenEngineerExists_ShouldReturnUpdatedEngineer() throws Exception {
         // Arrange
@@ -177,18 +595,101 @@ class SoftwareEngineerControllerTest {
                 Arrays.asList("Java", "Spring Boot", "PostgreSQL", "Docker"),
                 null
         );
-        when(softwareEngineerService.update(any(SoftwareEngineer.class))).thenReturn(updatedEngineer);
+        updatedEngineer.setVersion(5L);
+        when(softwareEngineerService.update(any(SoftwareEngineer.class), isNull())).thenReturn(updatedEngineer);
 
         // Act & Assert
         mockMvc.perform(put("/api/v1/software-engineers/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updatedDTO)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-5-full\""))
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.name", is("John Doe Updated")))
                 .andExpect(jsonPath("$.techStack", hasSize(4)));
 
-        verify(softwareEngineerService, times(1)).update(any(SoftwareEngineer.class));
+        verify(softwareEngineerService, times(1)).update(any(SoftwareEngineer.class), isNull());
+    }
+
+    @Test
+    void updateEngineer_WithIfMatch_ShouldPassExpectedVersion() throws Exception {
+        // Arrange
+        SoftwareEngineerDTO updatedDTO = new SoftwareEngineerDTO(1, "John Doe Updated", List.of("Java"), null);
+        SoftwareEngineer updatedEngineer = new SoftwareEngineer(1, "John Doe Updated", List.of("Java"), null);
+        updatedEngineer.setVersion(5L);
+        when(softwareEngineerService.update(any(SoftwareEngineer.class), eq(4L))).thenReturn(updatedEngineer);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/software-engineers/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1-4-summary\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-5-full\""));
+    }
+
+    @Test
+    void updateEngineer_WhenVersionIsStale_ShouldReturnConflict() throws Exception {
+        // Arrange
+        SoftwareEngineerDTO updatedDTO = new SoftwareEngineerDTO(1, "John Doe Updated", List.of("Java"), null);
+        when(softwareEngineerService.update(any(SoftwareEngineer.class), eq(3L)))
+                .thenThrow(new ConflictException("Engineer 1 is at version 4, not 3"));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/software-engineers/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1-3-full\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedDTO)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void updateEngineer_WhenWrittenConcurrently_ShouldReturnConflict() throws Exception {
+        // Arrange
+        SoftwareEngineerDTO updatedDTO = new SoftwareEngineerDTO(1, "John Doe Updated", List.of("Java"), null);
+        when(softwareEngineerService.update(any(SoftwareEngineer.class), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(SoftwareEngineer.class, 1));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/software-engineers/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedDTO)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void updateEngineer_WithETagOfAnotherEngineer_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        SoftwareEngineerDTO updatedDTO = new SoftwareEngineerDTO(1, "John Doe Updated", List.of("Java"), null);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/software-engineers/1")
+                        .header(HttpHeaders.IF_MATCH, "\"2-3-full\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedDTO)))
+                .andExpect(status().isBadRequest());
+
+        verify(softwareEngineerService, never()).update(any(), any());
+    }
+
+    @Test
+    void patchEngineer_ShouldOnlySendGivenFields() throws Exception {
+        // Arrange
+        SoftwareEngineer patchedEngineer = new SoftwareEngineer(1, "John Doe Updated", List.of("Java"), null);
+        patchedEngineer.setVersion(2L);
+        when(softwareEngineerService.patch(eq(1), any(SoftwareEngineer.class), eq(1L))).thenReturn(patchedEngineer);
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/v1/software-engineers/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1-1-full\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"John Doe Updated\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-2-full\""))
+                .andExpect(jsonPath("$.techStack", hasSize(1)));
+
+        verify(softwareEngineerService).patch(eq(1), argThat(changes ->
+                "John Doe Updated".equals(changes.getName()) && changes.getTechStack() == null), eq(1L));
     }
 
     @Test
@@ -200,7 +701,7 @@ class SoftwareEngineerControllerTest {
                 Arrays.asList("Tech"),
                 null
         );
-        when(softwareEngineerService.update(any(SoftwareEngineer.class)))
+        when(softwareEngineerService.update(any(SoftwareEngineer.class), isNull()))
                 .thenThrow(new NotFoundException("Engineer not found with id: 999"));
 
         // Act & Assert
@@ -209,7 +710,7 @@ class SoftwareEngineerControllerTest {
                         .content(objectMapper.writeValueAsString(updatedDTO)))
                 .andExpect(status().isNotFound());
 
-        verify(softwareEngineerService, times(1)).update(any(SoftwareEngineer.class));
+        verify(softwareEngineerService, times(1)).update(any(SoftwareEngineer.class), isNull());
     }
 
     @Test
@@ -254,6 +755,7 @@ class SoftwareEngineerControllerTest {
                 Arrays.asList(),
                 null
         );
+        savedEngineer.setEnrichmentStatus(EnrichmentStatus.COMPLETED);
         when(softwareEngineerService.save(any(SoftwareEngineer.class))).thenReturn(savedEngineer);
 
         // Act & Assert
@@ -267,4 +769,15 @@ class SoftwareEngineerControllerTest {
 
         verify(softwareEngineerService, times(1)).save(any(SoftwareEngineer.class));
     }
+
+    /* Stubs loadPage for the page; call it before, not inside, the when(...) of the versions query. */
+    private CursorPage<EngineerVersion> stubLoad(CursorPage<SoftwareEngineer> page) {
+        CursorPage<EngineerVersion> versions = versionsOf(page);
+        when(softwareEngineerService.loadPage(versions)).thenReturn(page);
+        return versions;
+    }
+
+    private static CursorPage<EngineerVersion> versionsOf(CursorPage<SoftwareEngineer> page) {
+        return page.map(engineer -> new EngineerVersion(engineer.getId(), engineer.getVersion()));
+    }
 }
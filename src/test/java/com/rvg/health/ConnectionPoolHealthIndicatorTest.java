@@ -0,0 +1,62 @@
+package com.rvg.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the connection pool saturation indicator.
+ */
+class ConnectionPoolHealthIndicatorTest {
+
+    private HikariDataSource dataSource;
+    private HikariPoolMXBean pool;
+    private ConnectionPoolHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(HikariDataSource.class);
+        pool = mock(HikariPoolMXBean.class);
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(dataSource);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(dataSource.getMaximumPoolSize()).thenReturn(10);
+        indicator = new ConnectionPoolHealthIndicator(dataSource);
+    }
+
+    @Test
+    void health_WhenPoolHasIdleConnections_ShouldBeUp() {
+        // Arrange
+        when(pool.getActiveConnections()).thenReturn(4);
+        when(pool.getIdleConnections()).thenReturn(6);
+
+        // Act
+        Health health = indicator.health();
+
+        // Assert
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(4, health.getDetails().get("active"));
+    }
+
+    @Test
+    void health_WhenPoolIsExhaustedAndRequestsWait_ShouldBeOutOfService() throws SQLException {
+        // Arrange
+        when(pool.getActiveConnections()).thenReturn(10);
+        when(pool.getIdleConnections()).thenReturn(0);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(3);
+
+        // Act
+        Health health = indicator.health();
+
+        // Assert
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        verify(dataSource, never()).getConnection();
+    }
+}
@@ -0,0 +1,130 @@
+package com.rvg.health;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the background database check and its cached result.
+ */
+class DatabaseHealthIndicatorTest {
+
+    private static final Duration INTERVAL = Duration.ofSeconds(10);
+
+    private DataSource dataSource;
+    private MutableClock clock;
+    private DatabaseHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = mock(DataSource.class);
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        indicator = new DatabaseHealthIndicator(dataSource, INTERVAL, Duration.ofSeconds(2), clock);
+    }
+
+    @Test
+    void health_ShouldServeLastCheckWithoutTouchingDatabase() throws SQLException {
+        // Arrange
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(metaData.getDatabaseProductVersion()).thenReturn("16.4");
+        indicator.refresh();
+
+        // Act
+        Health first = indicator.health();
+        Health second = indicator.health();
+
+        // Assert
+        assertEquals(Status.UP, first.getStatus());
+        assertEquals("PostgreSQL", first.getDetails().get("database"));
+        assertEquals(Status.UP, second.getStatus());
+        verify(dataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void health_WhenDatabaseIsUnreachable_ShouldBeDown() throws SQLException {
+        // Arrange
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        indicator.refresh();
+
+        // Act
+        Health health = indicator.health();
+
+        // Assert
+        assertEquals(Status.DOWN, health.getStatus());
+    }
+
+    @Test
+    void health_BeforeFirstCheck_ShouldBeUnknown() {
+        // Act
+        Health health = indicator.health();
+
+        // Assert
+        assertEquals(Status.UNKNOWN, health.getStatus());
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void health_WhenLastCheckIsStale_ShouldBeDown() throws SQLException {
+        // Arrange
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(mock(DatabaseMetaData.class));
+        when(connection.isValid(anyInt())).thenReturn(true);
+        indicator.refresh();
+        clock.advance(INTERVAL.multipliedBy(4));
+
+        // Act
+        Health health = indicator.health();
+
+        // Assert
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("Last check is stale", health.getDetails().get("reason"));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.rvg.repository;
+
+import com.rvg.EnrichmentStatus;
+import com.rvg.LearningPath;
+import com.rvg.SoftwareEngineer;
+import com.rvg.dto.EntityVersion;
+import com.rvg.dto.SoftwareEngineerDTO;
+import com.rvg.dto.SoftwareEngineerMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repository tests for SoftwareEngineerRepository against an in-memory H2 database,
+ * asserting the number of SQL statements issued when loading tech stacks.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.hbm2ddl.import_files="
+})
+class SoftwareEngineerRepositoryTest {
+
+    @Autowired
+    private SoftwareEngineerRepository softwareEngineerRepository;
+
+    @Autowired
+    private LearningPathRepository learningPathRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 30, 100})
+    void findPage_ShouldLoadTechStacksWithConstantStatementCount(int engineers) {
+        // Arrange
+        persistEngineers(engineers);
+
+        // Act
+        List<SoftwareEngineerDTO> dtos = SoftwareEngineerMapper.toDTOList(
+                softwareEngineerRepository.findPage(0, null, null, Limit.of(engineers)));
+
+        // Assert
+        assertEquals(engineers, dtos.size());
+        assertTrue(dtos.stream().allMatch(dto -> dto.techStack().size() == 3));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findById_ShouldLoadTechStackInSingleStatement() {
+        // Arrange
+        Integer id = persistEngineers(1).getFirst().getId();
+
+        // Act
+        SoftwareEngineerDTO dto = SoftwareEngineerMapper.toDTO(softwareEngineerRepository.findById(id).orElseThrow());
+
+        // Assert
+        assertEquals(List.of("Java", "Spring Boot", "PostgreSQL"), dto.techStack());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findPage_ShouldNotReadLearningPaths() {
+        // Arrange
+        SoftwareEngineer engineer = persistEngineers(1).getFirst();
+        learningPathRepository.save(new LearningPath(entityManager.getReference(SoftwareEngineer.class, engineer.getId()),
+                "## Next Skills"));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        List<SoftwareEngineer> page = softwareEngineerRepository.findPage(0, null, null, Limit.of(10));
+
+        // Assert
+        assertEquals(1, page.size());
+        assertNull(page.getFirst().getLearningPathRecommendations());
+        assertEquals(0, statistics.getEntityStatistics(LearningPath.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void findBySkillsIncludingAll_ShouldMatchEveryGivenSkillIgnoringCase() {
+        // Arrange
+        List<Integer> ids = persistEngineers(List.of(
+                List.of("Java", "Kafka", "AWS"),
+                List.of("java", "AWS"),
+                List.of("Python", "KAFKA", "Java ")));
+
+        // Act
+        List<SoftwareEngineer> engineers = softwareEngineerRepository.findBySkillsIncludingAll(
+                0, new String[]{"java", "kafka"}, Limit.of(10));
+
+        // Assert
+        assertEquals(List.of(ids.get(0), ids.get(2)), engineers.stream().map(SoftwareEngineer::getId).toList());
+    }
+
+    @Test
+    void findBySkillsIncludingAll_ShouldStartAfterCursor() {
+        // Arrange
+        List<Integer> ids = persistEngineers(List.of(
+                List.of("Java", "AWS"),
+                List.of("Go", "AWS"),
+                List.of("Java", "GCP"),
+                List.of("Java")));
+
+        // Act
+        List<SoftwareEngineer> engineers = softwareEngineerRepository.findBySkillsIncludingAll(
+                ids.get(0), new String[]{"java"}, Limit.of(1));
+
+        // Assert
+        assertEquals(List.of(ids.get(2)), engineers.stream().map(SoftwareEngineer::getId).toList());
+    }
+
+    @Test
+    void deleteById_ShouldCascadeToLearningPath() {
+        // Arrange
+        Integer id = persistEngineers(1).getFirst().getId();
+        learningPathRepository.save(new LearningPath(entityManager.getReference(SoftwareEngineer.class, id),
+                "## Next Skills"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        softwareEngineerRepository.deleteById(id);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertTrue(learningPathRepository.findByEngineerIdIn(List.of(id)).isEmpty());
+    }
+
+    @Test
+    void deleteByIdReturningCount_ShouldDeleteInSingleStatementAndCascade() {
+        // Arrange
+        Integer id = persistEngineers(1).getFirst().getId();
+        learningPathRepository.save(new LearningPath(entityManager.getReference(SoftwareEngineer.class, id),
+                "## Next Skills"));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        int deleted = softwareEngineerRepository.deleteByIdReturningCount(id);
+        int deletedAgain = softwareEngineerRepository.deleteByIdReturningCount(id);
+
+        // Assert
+        assertEquals(1, deleted);
+        assertEquals(0, deletedAgain);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertTrue(learningPathRepository.findByEngineerIdIn(List.of(id)).isEmpty());
+        assertEquals(0L, entityManager.createNativeQuery(
+                "select count(*) from software_engineer_tech_stack where software_engineer_id = " + id)
+                .getSingleResult());
+    }
+
+    @Test
+    void updateEnrichmentStatus_ShouldIncrementVersion() {
+        // Arrange
+        Integer id = persistEngineers(1).getFirst().getId();
+        entityManager.flush();
+        entityManager.clear();
+        EntityVersion before = softwareEngineerRepository.findVersionById(id).orElseThrow();
+
+        // Act
+        softwareEngineerRepository.updateEnrichmentStatus(id, EnrichmentStatus.COMPLETED);
+        entityManager.clear();
+
+        // Assert
+        EntityVersion after = softwareEngineerRepository.findVersionById(id).orElseThrow();
+        assertEquals(0L, before.version());
+        assertEquals(1L, after.version());
+        assertFalse(after.lastModified().isBefore(before.lastModified()));
+    }
+
+    @Test
+    void findSnapshot_ShouldSumIdsAndVersions() {
+        // Arrange
+        SoftwareEngineerRepository.TableSnapshot empty = softwareEngineerRepository.findSnapshot();
+        List<SoftwareEngineer> engineers = persistEngineers(3);
+        Integer id = engineers.getFirst().getId();
+        softwareEngineerRepository.updateEnrichmentStatus(id, EnrichmentStatus.COMPLETED);
+        entityManager.clear();
+
+        // Act
+        SoftwareEngineerRepository.TableSnapshot snapshot = softwareEngineerRepository.findSnapshot();
+
+        // Assert
+        assertEquals(0, empty.getEngineers());
+        assertEquals(0, empty.getIdSum());
+        assertEquals(3, snapshot.getEngineers());
+        assertEquals(engineers.stream().mapToLong(SoftwareEngineer::getId).sum(), snapshot.getIdSum());
+        assertEquals(1, snapshot.getVersionSum());
+    }
+
+    private List<Integer> persistEngineers(List<List<String>> techStacks) {
+        List<SoftwareEngineer> engineers = techStacks.stream()
+                .map(techStack -> new SoftwareEngineer(null, "Engineer", techStack, null))
+                .toList();
+        softwareEngineerRepository.saveAll(engineers);
+        entityManager.flush();
+        entityManager.clear();
+        return engineers.stream().map(SoftwareEngineer::getId).toList();
+    }
+
+    private List<SoftwareEngineer> persistEngineers(int count) {
+        List<SoftwareEngineer> engineers = IntStream.range(0, count)
+                .mapToObj(i -> new SoftwareEngineer(null, "Engineer " + i,
+                        List.of("Java", "Spring Boot", "PostgreSQL"), null))
+                .toList();
+        softwareEngineerRepository.saveAll(engineers);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        return engineers;
+    }
+}
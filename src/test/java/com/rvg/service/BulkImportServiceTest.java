@@ -0,0 +1,162 @@
+package com.rvg.service;
+
+import com.rvg.ChangeType;
+import com.rvg.EnrichmentStatus;
+import com.rvg.SoftwareEngineer;
+import com.rvg.dto.BulkImportItemResult;
+import com.rvg.dto.BulkImportResult;
+import com.rvg.dto.SoftwareEngineerDTO;
+import com.rvg.repository.SoftwareEngineerRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BulkImportService using Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkImportServiceTest {
+
+    @Mock
+    private SoftwareEngineerRepository softwareEngineerRepository;
+
+    @Mock
+    private LearningPathPipeline learningPathPipeline;
+
+    @Mock
+    private SkillIndex skillIndex;
+
+    @Mock
+    private SimilarityIndex similarityIndex;
+
+    @Mock
+    private ChangeOutbox changeOutbox;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkImportService bulkImportService;
+
+    @BeforeEach
+    void setUp() {
+        bulkImportService = new BulkImportService(softwareEngineerRepository, learningPathPipeline, skillIndex,
+                similarityIndex, changeOutbox, entityManager, transactionManager, 2);
+    }
+
+    @Test
+    void importEngineers_ShouldInsertInChunksAndReportEachItem() {
+        // Arrange
+        AtomicInteger ids = new AtomicInteger(100);
+        when(softwareEngineerRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<SoftwareEngineer> engineers = invocation.getArgument(0);
+            engineers.forEach(engineer -> engineer.setId(ids.incrementAndGet()));
+            return engineers;
+        });
+        List<SoftwareEngineerDTO> dtos = List.of(
+                new SoftwareEngineerDTO(null, "John Doe", List.of("Java"), null),
+                new SoftwareEngineerDTO(null, " ", List.of("Go"), null),
+                new SoftwareEngineerDTO(7, "Jane Smith", List.of("Python"), "ignored"),
+                new SoftwareEngineerDTO(null, "Alice Johnson", null, null)
+        );
+
+        // Act
+        BulkImportResult result = bulkImportService.importEngineers(dtos.iterator(), false);
+
+        // Assert
+        assertEquals(4, result.received());
+        assertEquals(3, result.created());
+        assertEquals(1, result.failed());
+        assertEquals(List.of(0, 1, 2, 3), result.items().stream().map(BulkImportItemResult::index).toList());
+        assertEquals(BulkImportItemResult.Status.INVALID, result.items().get(1).status());
+        assertEquals(101, result.items().get(0).id());
+        assertEquals(102, result.items().get(2).id());
+        assertEquals(103, result.items().get(3).id());
+        verify(softwareEngineerRepository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).flush();
+        verify(skillIndex, times(2)).putAll(anyList());
+        verify(similarityIndex, times(2)).refreshAll(anyList());
+        verify(changeOutbox, times(2)).recordAll(anyList(), eq(ChangeType.CREATED));
+        verifyNoInteractions(learningPathPipeline);
+    }
+
+    @Test
+    void importEngineers_ShouldNotTrustClientIdsOrRecommendations() {
+        // Arrange
+        when(softwareEngineerRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<SoftwareEngineer> engineers = invocation.getArgument(0);
+            SoftwareEngineer engineer = engineers.getFirst();
+            assertNull(engineer.getId());
+            assertNull(engineer.getLearningPathRecommendations());
+            assertEquals(EnrichmentStatus.PENDING, engineer.getEnrichmentStatus());
+            assertTrue(engineer.getTechStack().isEmpty());
+            return engineers;
+        });
+
+        // Act
+        BulkImportResult result = bulkImportService.importEngineers(
+                List.of(new SoftwareEngineerDTO(7, "Jane Smith", null, "ignored")).iterator(), false);
+
+        // Assert
+        assertEquals(1, result.created());
+    }
+
+    @Test
+    void importEngineers_WhenChunkFails_ShouldMarkItsItemsAsFailed() {
+        // Arrange
+        when(softwareEngineerRepository.saveAll(anyList())).thenThrow(new RuntimeException("constraint violation"));
+
+        // Act
+        BulkImportResult result = bulkImportService.importEngineers(List.of(
+                new SoftwareEngineerDTO(null, "John Doe", List.of("Java"), null),
+                new SoftwareEngineerDTO(null, "Jane Smith", List.of("Python"), null)).iterator(), true);
+
+        // Assert
+        assertEquals(0, result.created());
+        assertEquals(2, result.failed());
+        assertTrue(result.items().stream().allMatch(item -> item.status() == BulkImportItemResult.Status.FAILED));
+        verify(softwareEngineerRepository, times(3)).saveAll(anyList());
+        verifyNoInteractions(learningPathPipeline, skillIndex);
+    }
+
+    @Test
+    void importEngineers_WhenOneRowOfAChunkFails_ShouldOnlyFailThatRow() {
+        // Arrange
+        AtomicInteger ids = new AtomicInteger(100);
+        when(softwareEngineerRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<SoftwareEngineer> engineers = invocation.getArgument(0);
+            if (engineers.stream().anyMatch(engineer -> engineer.getName().length() > 255)) {
+                throw new RuntimeException("value too long for type character varying(255)");
+            }
+            engineers.forEach(engineer -> engineer.setId(ids.incrementAndGet()));
+            return engineers;
+        });
+
+        // Act
+        BulkImportResult result = bulkImportService.importEngineers(List.of(
+                new SoftwareEngineerDTO(null, "John Doe", List.of("Java"), null),
+                new SoftwareEngineerDTO(null, "J".repeat(300), List.of("Python"), null)).iterator(), false);
+
+        // Assert
+        assertEquals(1, result.created());
+        assertEquals(1, result.failed());
+        assertEquals(BulkImportItemResult.Status.CREATED, result.items().get(0).status());
+        assertEquals(101, result.items().get(0).id());
+        assertEquals(BulkImportItemResult.Status.FAILED, result.items().get(1).status());
+        assertEquals("value too long for type character varying(255)", result.items().get(1).error());
+        verify(skillIndex, times(1)).putAll(argThat(engineers -> engineers.size() == 1));
+    }
+}
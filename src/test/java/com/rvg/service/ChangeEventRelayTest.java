@@ -0,0 +1,141 @@
+package com.rvg.service;
+
+import com.rvg.ChangeType;
+import com.rvg.EngineerChange;
+import com.rvg.dto.EngineerChangeDTO;
+import com.rvg.repository.EngineerChangeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ChangeEventRelay using Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class ChangeEventRelayTest {
+
+    @Mock
+    private EngineerChangeRepository engineerChangeRepository;
+
+    @Mock
+    private ChangeEventSink changeEventSink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ChangeEventRelay changeEventRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        changeEventRelay = new ChangeEventRelay(engineerChangeRepository, changeEventSink, transactionManager,
+                meterRegistry, 2, Duration.ofDays(7));
+    }
+
+    @Test
+    void relay_ShouldNumberChangesAfterTheLastPositionAndPublishThem() {
+        // Arrange
+        EngineerChange created = new EngineerChange(1, ChangeType.CREATED, Instant.now());
+        EngineerChange updated = new EngineerChange(1, ChangeType.UPDATED, Instant.now());
+        EngineerChange deleted = new EngineerChange(2, ChangeType.DELETED, Instant.now());
+        when(engineerChangeRepository.tryAdvisoryLock(ChangeEventRelay.LOCK_KEY)).thenReturn(true);
+        when(engineerChangeRepository.findByPositionIsNullOrderById(any(Limit.class)))
+                .thenReturn(List.of(created, updated))
+                .thenReturn(List.of(deleted));
+        when(engineerChangeRepository.findMaxPosition()).thenReturn(10L, 12L);
+
+        // Act
+        changeEventRelay.relay();
+
+        // Assert
+        verify(changeEventSink).publish(List.of(
+                new EngineerChangeDTO(11, 1, ChangeType.CREATED, created.getOccurredAt()),
+                new EngineerChangeDTO(12, 1, ChangeType.UPDATED, updated.getOccurredAt())));
+        verify(changeEventSink).publish(List.of(
+                new EngineerChangeDTO(13, 2, ChangeType.DELETED, deleted.getOccurredAt())));
+        assertEquals(13, deleted.getPosition());
+        assertNotNull(deleted.getPublishedAt());
+        assertEquals(3, meterRegistry.get("outbox.published").counter().count());
+    }
+
+    @Test
+    void relay_WhenAnotherNodeHoldsTheLock_ShouldPublishNothing() {
+        // Arrange
+        when(engineerChangeRepository.tryAdvisoryLock(ChangeEventRelay.LOCK_KEY)).thenReturn(false);
+
+        // Act
+        changeEventRelay.relay();
+
+        // Assert
+        verify(engineerChangeRepository, never()).findByPositionIsNullOrderById(any());
+        verifyNoInteractions(changeEventSink);
+        assertEquals(0, meterRegistry.get("outbox.published").counter().count());
+    }
+
+    @Test
+    void relay_WhenTheSinkFails_ShouldRollBackAndCountTheFailure() {
+        // Arrange
+        when(engineerChangeRepository.tryAdvisoryLock(ChangeEventRelay.LOCK_KEY)).thenReturn(true);
+        when(engineerChangeRepository.findByPositionIsNullOrderById(any(Limit.class)))
+                .thenReturn(List.of(new EngineerChange(1, ChangeType.CREATED, Instant.now())));
+        doThrow(new IllegalStateException("Sink unavailable")).when(changeEventSink).publish(anyList());
+
+        // Act
+        changeEventRelay.relay();
+
+        // Assert
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        assertEquals(0, meterRegistry.get("outbox.published").counter().count());
+        assertEquals(1, meterRegistry.get("outbox.failures").counter().count());
+    }
+
+    @Test
+    void purge_ShouldDeleteChangesPublishedBeforeTheRetention() {
+        // Arrange
+        Instant expectedBefore = Instant.now().minus(Duration.ofDays(7));
+
+        // Act
+        changeEventRelay.purge();
+
+        // Assert
+        ArgumentCaptor<Instant> before = ArgumentCaptor.forClass(Instant.class);
+        verify(engineerChangeRepository).deletePublishedBefore(before.capture());
+        assertFalse(before.getValue().isBefore(expectedBefore));
+        assertTrue(before.getValue().isBefore(expectedBefore.plusSeconds(5)));
+    }
+
+    @Test
+    void inMemorySink_ShouldSkipPositionsAlreadySeenAndKeepTheMostRecent() {
+        // Arrange
+        InMemoryChangeEventSink sink = new InMemoryChangeEventSink(2);
+        Instant now = Instant.now();
+        EngineerChangeDTO first = new EngineerChangeDTO(1, 1, ChangeType.CREATED, now);
+        EngineerChangeDTO second = new EngineerChangeDTO(2, 1, ChangeType.UPDATED, now);
+        EngineerChangeDTO third = new EngineerChangeDTO(3, 2, ChangeType.CREATED, now);
+
+        // Act
+        sink.publish(List.of(first, second));
+        sink.publish(List.of(second, third));
+
+        // Assert
+        assertEquals(List.of(second, third), sink.recent());
+    }
+}
@@ -0,0 +1,97 @@
+package com.rvg.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rvg.SoftwareEngineer;
+import com.rvg.repository.SoftwareEngineerRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EngineerExportService using Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class EngineerExportServiceTest {
+
+    @Mock
+    private SoftwareEngineerRepository softwareEngineerRepository;
+
+    @Mock
+    private LearningPathStore learningPathStore;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private EngineerExportService engineerExportService;
+
+    private SoftwareEngineer engineer1;
+    private SoftwareEngineer engineer2;
+
+    @BeforeEach
+    void setUp() {
+        engineerExportService = new EngineerExportService(softwareEngineerRepository, learningPathStore, entityManager,
+                new ObjectMapper());
+        engineer1 = new SoftwareEngineer(
+                1,
+                "John Doe",
+                Arrays.asList("Java", "Spring Boot"),
+                null
+        );
+        engineer2 = new SoftwareEngineer(
+                2,
+                "Smith, Jane",
+                Arrays.asList("Python"),
+                null
+        );
+        when(softwareEngineerRepository.streamAllWithTechStack()).thenReturn(Stream.of(engineer1, engineer2));
+        when(learningPathStore.findAll(List.of(1, 2))).thenReturn(Map.of(2, "Learn \"Go\"\nnext"));
+    }
+
+    @Test
+    void export_AsNdjson_ShouldWriteOneLinePerEngineerAndLookUpLearningPathsPerBatch() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = engineerExportService.export(ExportFormat.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"name\":\"John Doe\",\"techStack\":[\"Java\",\"Spring Boot\"],"
+                + "\"learningPathRecommendations\":null}", lines[0]);
+        verify(entityManager, times(1)).detach(engineer1);
+        verify(entityManager, times(1)).detach(engineer2);
+        verify(learningPathStore, times(1)).findAll(List.of(1, 2));
+    }
+
+    @Test
+    void export_AsCsv_ShouldQuoteFieldsWhenNeeded() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = engineerExportService.export(ExportFormat.CSV, out);
+
+        // Assert
+        assertEquals(2, count);
+        assertEquals("id,name,techStack,learningPathRecommendations\r\n"
+                        + "1,John Doe,Java;Spring Boot,\r\n"
+                        + "2,\"Smith, Jane\",Python,\"Learn \"\"Go\"\"\nnext\"\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+}
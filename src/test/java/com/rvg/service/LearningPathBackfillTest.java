@@ -0,0 +1,179 @@
+package com.rvg.service;
+
+import com.rvg.SoftwareEngineer;
+import com.rvg.ai.GenerationResult;
+import com.rvg.ai.LearningPathGenerator;
+import com.rvg.errors.AiUnavailableException;
+import com.rvg.repository.BackfillCheckpointRepository;
+import com.rvg.repository.SoftwareEngineerRepository;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LearningPathBackfill using Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class LearningPathBackfillTest {
+
+    @Mock
+    private SoftwareEngineerRepository softwareEngineerRepository;
+
+    @Mock
+    private BackfillCheckpointRepository checkpointRepository;
+
+    @Mock
+    private LearningPathGenerator learningPathGenerator;
+
+    @Mock
+    private LearningPathStore learningPathStore;
+
+    @Mock
+    private SimilarityIndex similarityIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LearningPathBackfill learningPathBackfill;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        learningPathBackfill = new LearningPathBackfill(softwareEngineerRepository, checkpointRepository,
+                learningPathGenerator, learningPathStore, similarityIndex, transactionManager,
+                RateLimiterRegistry.ofDefaults(), meterRegistry, 2, 2, 1, Duration.ofMinutes(10), 3);
+        lenient().when(checkpointRepository.findById(LearningPathBackfill.JOB)).thenReturn(Optional.empty());
+        lenient().when(softwareEngineerRepository.countWithoutLearningPath(3)).thenReturn(3L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        learningPathBackfill.shutdown();
+    }
+
+    @Test
+    void run_ShouldEnrichEveryChunkAndResetTheCheckpointWhenDone() {
+        // Arrange
+        when(softwareEngineerRepository.lockBackfillCandidates(eq(0), any(), any(), eq(3), eq(2))).thenReturn(List.of(1, 2));
+        when(softwareEngineerRepository.lockBackfillCandidates(eq(2), any(), any(), eq(3), eq(2))).thenReturn(List.of(3));
+        when(softwareEngineerRepository.lockBackfillCandidates(eq(3), any(), any(), eq(3), eq(2))).thenReturn(List.of());
+        when(softwareEngineerRepository.findAllById(List.of(1, 2))).thenReturn(List.of(
+                new SoftwareEngineer(1, "John Doe", List.of("Java"), null),
+                new SoftwareEngineer(2, "Jane Smith", List.of("Go"), null)));
+        when(softwareEngineerRepository.findAllById(List.of(3))).thenReturn(List.of(
+                new SoftwareEngineer(3, "Alice Johnson", List.of("Rust"), null)));
+        when(learningPathGenerator.generateAll(List.of(List.of("Java"), List.of("Go"))))
+                .thenReturn(List.of(GenerationResult.of("Java learning path"), GenerationResult.of("Go learning path")));
+        when(learningPathGenerator.generateAll(List.of(List.of("Rust"))))
+                .thenReturn(List.of(GenerationResult.of("Rust learning path")));
+
+        // Act
+        learningPathBackfill.run();
+
+        // Assert
+        verify(learningPathStore).complete(1, "Java learning path");
+        verify(learningPathStore).complete(2, "Go learning path");
+        verify(learningPathStore).complete(3, "Rust learning path");
+        verify(similarityIndex).refresh(3);
+        verify(softwareEngineerRepository).leaseForBackfill(eq(List.of(1, 2)), notNull());
+        verify(checkpointRepository).advance(eq(LearningPathBackfill.JOB), eq(2), any(Instant.class));
+        verify(checkpointRepository).advance(eq(LearningPathBackfill.JOB), eq(3), any(Instant.class));
+        verify(checkpointRepository).reset(eq(LearningPathBackfill.JOB), any(Instant.class));
+        assertEquals(3, meterRegistry.get("backfill.engineers").tag("result", "completed").counter().count());
+        assertEquals(0, meterRegistry.get("backfill.remaining").gauge().value());
+    }
+
+    @Test
+    void run_WhenAiIsUnavailable_ShouldReleaseTheChunkAndKeepTheCheckpoint() {
+        // Arrange
+        when(softwareEngineerRepository.lockBackfillCandidates(eq(0), any(), any(), eq(3), eq(2))).thenReturn(List.of(1, 2));
+        when(softwareEngineerRepository.findAllById(List.of(1, 2))).thenReturn(List.of(
+                new SoftwareEngineer(1, "John Doe", List.of("Java"), null),
+                new SoftwareEngineer(2, "Jane Smith", List.of("Go"), null)));
+        AiUnavailableException unavailable = new AiUnavailableException("AI service unavailable: circuit breaker is open", null);
+        when(learningPathGenerator.generateAll(any()))
+                .thenReturn(List.of(GenerationResult.failedWith(unavailable), GenerationResult.failedWith(unavailable)));
+
+        // Act
+        learningPathBackfill.run();
+
+        // Assert
+        verify(softwareEngineerRepository).leaseForBackfill(eq(List.of(1, 2)), isNull());
+        verify(softwareEngineerRepository, times(1)).lockBackfillCandidates(anyInt(), any(), any(), anyInt(), anyInt());
+        verify(checkpointRepository, never()).advance(any(), anyInt(), any());
+        verify(checkpointRepository, never()).reset(any(), any());
+        verify(learningPathStore, never()).fail(any());
+        verify(softwareEngineerRepository, never()).recordBackfillFailure(any());
+        assertEquals(2, meterRegistry.get("backfill.engineers").tag("result", "deferred").counter().count());
+    }
+
+    @Test
+    void run_WhenGenerationFails_ShouldCountTheAttemptOfThatEngineerOnly() {
+        // Arrange
+        when(softwareEngineerRepository.lockBackfillCandidates(eq(0), any(), any(), eq(3), eq(2))).thenReturn(List.of(1, 2));
+        when(softwareEngineerRepository.lockBackfillCandidates(eq(2), any(), any(), eq(3), eq(2))).thenReturn(List.of());
+        when(softwareEngineerRepository.findAllById(List.of(1, 2))).thenReturn(List.of(
+                new SoftwareEngineer(1, "John Doe", List.of("Java"), null),
+                new SoftwareEngineer(2, "Jane Smith", List.of("Go"), null)));
+        when(learningPathGenerator.generateAll(any())).thenReturn(List.of(
+                GenerationResult.of("Java learning path"),
+                GenerationResult.failedWith(new IllegalStateException("Model returned an invalid response"))));
+
+        // Act
+        learningPathBackfill.run();
+
+        // Assert
+        verify(learningPathStore).complete(1, "Java learning path");
+        verify(learningPathStore).fail(2);
+        verify(softwareEngineerRepository).recordBackfillFailure(List.of(2));
+        assertEquals(1, meterRegistry.get("backfill.engineers").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    void enrichBatch_WhenInterruptedWhileWaitingForPermits_ShouldDeferTheBatch() {
+        // Arrange
+        RateLimiterRegistry exhausted = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(1)
+                .limitRefreshPeriod(Duration.ofHours(1))
+                .timeoutDuration(Duration.ofMillis(10))
+                .build());
+        LearningPathBackfill backfill = new LearningPathBackfill(softwareEngineerRepository, checkpointRepository,
+                learningPathGenerator, learningPathStore, similarityIndex, transactionManager,
+                exhausted, meterRegistry, 2, 2, 1, Duration.ofMinutes(10), 3);
+        Thread.currentThread().interrupt();
+        try {
+            // Act
+            boolean available = backfill.enrichBatch(List.of(1, 2), List.of(List.of("Java"), List.of("Go")));
+
+            // Assert
+            assertFalse(available);
+            verifyNoInteractions(learningPathGenerator);
+            assertEquals(2, meterRegistry.get("backfill.engineers").tag("result", "deferred").counter().count());
+        } finally {
+            Thread.interrupted();
+            backfill.shutdown();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.rvg.service;
+
+import com.rvg.SoftwareEngineer;
+import com.rvg.ai.GenerationResult;
+import com.rvg.ai.LearningPathGenerator;
+import com.rvg.errors.AiUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LearningPathPipeline using Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class LearningPathPipelineTest {
+
+    private static final List<String> STACK = List.of("Java", "Spring Boot", "PostgreSQL");
+
+    @Mock
+    private LearningPathGenerator learningPathGenerator;
+
+    @Mock
+    private LearningPathStore learningPathStore;
+
+    @Mock
+    private SimilarityIndex similarityIndex;
+
+    private LearningPathPipeline learningPathPipeline;
+
+    @BeforeEach
+    void setUp() {
+        learningPathPipeline = new LearningPathPipeline(learningPathGenerator, learningPathStore, similarityIndex, 1, 1, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        learningPathPipeline.shutdown();
+    }
+
+    @Test
+    void submit_WhenPipelineIsFull_ShouldRejectAndMarkEngineerAsFailed() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(learningPathGenerator.generate(STACK)).thenAnswer(invocation -> {
+            release.await();
+            return "AI-generated learning path";
+        });
+        SoftwareEngineer first = new SoftwareEngineer(1, "John Doe", STACK, null);
+        SoftwareEngineer second = new SoftwareEngineer(2, "Jane Smith", STACK, null);
+        SoftwareEngineer third = new SoftwareEngineer(3, "Alice Johnson", STACK, null);
+
+        // Act
+        boolean firstQueued = learningPathPipeline.submit(first);
+        boolean secondQueued = learningPathPipeline.submit(second);
+        boolean thirdQueued = learningPathPipeline.submit(third);
+        release.countDown();
+
+        // Assert
+        assertTrue(firstQueued);
+        assertTrue(secondQueued);
+        assertFalse(thirdQueued);
+        verify(learningPathStore, times(1)).fail(3);
+        verify(learningPathStore, timeout(1000).times(1)).complete(2, "AI-generated learning path");
+    }
+
+    @Test
+    void submit_WhenTechStackHasNullEntries_ShouldGenerateForTheOthers() {
+        // Arrange
+        when(learningPathGenerator.generate(List.of("Java"))).thenReturn("AI-generated learning path");
+
+        // Act
+        boolean queued = learningPathPipeline.submit(new SoftwareEngineer(1, "John Doe", Arrays.asList("Java", null), null));
+
+        // Assert
+        assertTrue(queued);
+        verify(learningPathStore, timeout(1000).times(1)).complete(1, "AI-generated learning path");
+    }
+
+    @Test
+    void submit_WhenPipelineIsShutDown_ShouldReleaseTheSlotAndMarkEngineerAsFailed() {
+        // Arrange
+        learningPathPipeline.shutdown();
+
+        // Act
+        boolean first = learningPathPipeline.submit(new SoftwareEngineer(1, "John Doe", STACK, null));
+        boolean second = learningPathPipeline.submit(new SoftwareEngineer(2, "Jane Smith", STACK, null));
+        boolean third = learningPathPipeline.submit(new SoftwareEngineer(3, "Alice Johnson", STACK, null));
+
+        // Assert
+        assertFalse(first || second || third);
+        verify(learningPathStore, times(1)).fail(1);
+        verify(learningPathStore, times(1)).fail(2);
+        verify(learningPathStore, times(1)).fail(3);
+    }
+
+    @Test
+    void process_WhenAiSucceeds_ShouldStoreRecommendations() {
+        // Arrange
+        when(learningPathGenerator.generate(STACK)).thenReturn("AI-generated learning path");
+
+        // Act
+        learningPathPipeline.process(1, STACK);
+
+        // Assert
+        verify(learningPathStore, times(1)).complete(1, "AI-generated learning path");
+        verify(similarityIndex, times(1)).refresh(1);
+        verify(learningPathStore, never()).fail(any());
+    }
+
+    @Test
+    void process_WhenAiFails_ShouldMarkEngineerAsFailed() {
+        // Arrange
+        when(learningPathGenerator.generate(STACK)).thenThrow(new RuntimeException("Error during AI chat interaction"));
+
+        // Act
+        learningPathPipeline.process(1, STACK);
+
+        // Assert
+        verify(learningPathStore, times(1)).fail(1);
+        verify(learningPathStore, never()).complete(any(), any());
+    }
+
+    @Test
+    void process_WhenAiUnavailable_ShouldLeaveEngineerPending() {
+        // Arrange
+        when(learningPathGenerator.generate(STACK))
+                .thenThrow(new AiUnavailableException("AI service unavailable: circuit breaker is open", null));
+
+        // Act
+        learningPathPipeline.process(1, STACK);
+
+        // Assert
+        verify(learningPathStore, never()).fail(any());
+        verify(learningPathStore, never()).complete(any(), any());
+    }
+
+    @Test
+    void submitAll_ShouldGenerateEachBatchWithOneCall() throws Exception {
+        // Arrange
+        List<String> otherStack = List.of("Python", "Django");
+        when(learningPathGenerator.generateAll(List.of(STACK, otherStack)))
+                .thenReturn(List.of(GenerationResult.of("Java learning path"), GenerationResult.of("Python learning path")));
+        when(learningPathGenerator.generate(STACK)).thenReturn("Java learning path");
+
+        // Act
+        learningPathPipeline.submitAll(List.of(
+                new SoftwareEngineer(1, "John Doe", STACK, null),
+                new SoftwareEngineer(2, "Jane Smith", otherStack, null),
+                new SoftwareEngineer(3, "Alice Johnson", STACK, null)));
+
+        // Assert
+        verify(learningPathStore, timeout(1000).times(1)).complete(1, "Java learning path");
+        verify(learningPathStore, timeout(1000).times(1)).complete(2, "Python learning path");
+        verify(learningPathStore, timeout(1000).times(1)).complete(3, "Java learning path");
+        verify(learningPathGenerator, times(1)).generateAll(any());
+    }
+
+    @Test
+    void processBatch_WhenAiUnavailable_ShouldLeaveEngineersPending() {
+        // Arrange
+        AiUnavailableException unavailable = new AiUnavailableException("AI service unavailable: circuit breaker is open", null);
+        when(learningPathGenerator.generateAll(any()))
+                .thenReturn(List.of(GenerationResult.failedWith(unavailable), GenerationResult.failedWith(unavailable)));
+
+        // Act
+        learningPathPipeline.processBatch(List.of(1, 2), List.of(STACK, List.of("Go")));
+
+        // Assert
+        verify(learningPathStore, never()).fail(any());
+        verify(learningPathStore, never()).complete(any(), any());
+    }
+
+    @Test
+    void processBatch_WhenOneStackFails_ShouldCompleteTheOthers() {
+        // Arrange
+        when(learningPathGenerator.generateAll(any())).thenReturn(List.of(
+                GenerationResult.of("Java learning path"),
+                GenerationResult.failedWith(new IllegalStateException("Model returned an invalid response")),
+                GenerationResult.failedWith(new AiUnavailableException("AI service is temporarily unavailable", null))));
+
+        // Act
+        learningPathPipeline.processBatch(List.of(1, 2, 3), List.of(STACK, List.of("Go"), List.of("Rust")));
+
+        // Assert
+        verify(learningPathStore, times(1)).complete(1, "Java learning path");
+        verify(learningPathStore, times(1)).fail(2);
+        verify(learningPathStore, never()).fail(3);
+        verify(learningPathStore, never()).complete(eq(3), any());
+    }
+}
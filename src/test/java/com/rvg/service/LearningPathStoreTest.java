@@ -0,0 +1,153 @@
+package com.rvg.service;
+
+import com.rvg.ChangeType;
+import com.rvg.EngineerChange;
+import com.rvg.LearningPath;
+import com.rvg.SoftwareEngineer;
+import com.rvg.errors.ConflictException;
+import com.rvg.errors.NotFoundException;
+import com.rvg.repository.EngineerChangeRepository;
+import com.rvg.repository.LearningPathRepository;
+import com.rvg.repository.SoftwareEngineerRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests updates through LearningPathStore against an in-memory H2 database,
+ * asserting which statements are issued for partial and full updates.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.hbm2ddl.import_files="
+})
+@Import({LearningPathStore.class, ChangeOutbox.class})
+class LearningPathStoreTest {
+
+    @Autowired
+    private LearningPathStore learningPathStore;
+
+    @Autowired
+    private SoftwareEngineerRepository softwareEngineerRepository;
+
+    @Autowired
+    private LearningPathRepository learningPathRepository;
+
+    @Autowired
+    private EngineerChangeRepository engineerChangeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    private Integer id;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        SoftwareEngineer engineer = softwareEngineerRepository.save(new SoftwareEngineer(null, "John Doe",
+                List.of("Java", "Spring Boot", "PostgreSQL"), null));
+        learningPathRepository.save(new LearningPath(engineer, "## Next Skills"));
+        id = engineer.getId();
+        flushAndClear();
+    }
+
+    @Test
+    void highlight_ShouldEscapeTextBeforeMarkingMatches() {
+        // Act
+        String snippet = LearningPathStore.highlight("Use \u0002Terraform\u0003 <script>alert(1)</script> & \"modules\"");
+
+        // Assert
+        assertEquals("Use <mark>Terraform</mark> &lt;script&gt;alert(1)&lt;/script&gt; &amp; &quot;modules&quot;",
+                snippet);
+    }
+
+    @Test
+    void update_WhenOneTechStackEntryChanges_ShouldOnlyUpdateThatRow() {
+        // Act
+        SoftwareEngineer result = learningPathStore.update(id, 0L,
+                new SoftwareEngineer(null, null, List.of("Java", "Spring Boot", "Docker"), null), true);
+        entityManager.flush();
+
+        // Assert
+        assertEquals(1, statistics.getCollectionUpdateCount());
+        assertEquals(0, statistics.getCollectionRecreateCount());
+        assertEquals(1L, result.getVersion());
+        assertEquals("## Next Skills", result.getLearningPathRecommendations());
+        entityManager.clear();
+        SoftwareEngineer stored = softwareEngineerRepository.findById(id).orElseThrow();
+        assertEquals("John Doe", stored.getName());
+        assertEquals(List.of("Java", "Spring Boot", "Docker"), stored.getTechStack());
+        List<EngineerChange> changes = engineerChangeRepository.findAll();
+        assertEquals(1, changes.size());
+        assertEquals(id, changes.getFirst().getEngineerId());
+        assertEquals(ChangeType.UPDATED, changes.getFirst().getType());
+        assertNull(changes.getFirst().getPosition());
+    }
+
+    @Test
+    void update_WhenNothingChanges_ShouldNotWrite() {
+        // Act
+        SoftwareEngineer result = learningPathStore.update(id, 0L,
+                new SoftwareEngineer(null, "John Doe", List.of("Java", "Spring Boot", "PostgreSQL"), "## Next Skills"),
+                false);
+        entityManager.flush();
+
+        // Assert
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getCollectionUpdateCount());
+        assertEquals(0L, result.getVersion());
+        assertEquals(0, engineerChangeRepository.count());
+    }
+
+    @Test
+    void update_WhenFull_ShouldClearMissingFields() {
+        // Act
+        learningPathStore.update(id, null, new SoftwareEngineer(null, "Jane Doe", null, null), false);
+        flushAndClear();
+
+        // Assert
+        SoftwareEngineer stored = softwareEngineerRepository.findById(id).orElseThrow();
+        assertEquals("Jane Doe", stored.getName());
+        assertTrue(stored.getTechStack().isEmpty());
+        assertTrue(learningPathStore.find(id).isEmpty());
+        assertEquals(1L, stored.getVersion());
+    }
+
+    @Test
+    void update_WhenVersionIsStale_ShouldThrowConflictException() {
+        // Arrange
+        learningPathStore.update(id, 0L, new SoftwareEngineer(null, "Jane Doe", null, null), true);
+        flushAndClear();
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> learningPathStore.update(id, 0L,
+                new SoftwareEngineer(null, "John Doe", null, null), true));
+    }
+
+    @Test
+    void update_WhenEngineerDoesNotExist_ShouldThrowNotFoundException() {
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> learningPathStore.update(id + 1000, null,
+                new SoftwareEngineer(null, "John Doe", null, null), true));
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+}
@@ -0,0 +1,276 @@
+package com.rvg.service;
+
+import com.rvg.SoftwareEngineer;
+import com.rvg.ai.HashingEmbeddingModel;
+import com.rvg.dto.SimilarEngineerDTO;
+import com.rvg.errors.NotFoundException;
+import com.rvg.repository.SoftwareEngineerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SimilarityIndex with the local hashing embedding model and a mocked repository.
+ * The worker runs tasks on the calling thread, so every queued refresh is applied before the call returns.
+ */
+@ExtendWith(MockitoExtension.class)
+class SimilarityIndexTest {
+
+    @Mock
+    private SoftwareEngineerRepository softwareEngineerRepository;
+
+    @Mock
+    private LearningPathStore learningPathStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private final Map<Integer, SoftwareEngineer> engineers = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        engineer(1, List.of("Java", "Spring Boot", "Kafka", "AWS"));
+        engineer(2, List.of("Java", "Spring Boot", "Kafka", "Kubernetes"));
+        engineer(3, List.of("Python", "Django", "PostgreSQL", "Redis"));
+        lenient().when(softwareEngineerRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Integer> ids = invocation.getArgument(0);
+            List<SoftwareEngineer> found = new ArrayList<>();
+            ids.forEach(id -> {
+                if (engineers.containsKey(id)) {
+                    found.add(engineers.get(id));
+                }
+            });
+            return found;
+        });
+        lenient().when(learningPathStore.findAll(anyCollection()))
+                .thenAnswer(invocation -> learningPaths(invocation.getArgument(0)));
+    }
+
+    @Test
+    void findSimilar_ShouldRankEngineersWithSharedStackFirst() {
+        // Arrange
+        SimilarityIndex similarityIndex = newIndex(null);
+        List.of(1, 2, 3).forEach(similarityIndex::refresh);
+
+        // Act
+        List<SimilarEngineerDTO> similar = similarityIndex.findSimilar(1, 2);
+
+        // Assert
+        assertEquals(List.of(2, 3), similar.stream().map(SimilarEngineerDTO::engineerId).toList());
+        assertTrue(similar.get(0).similarity() > similar.get(1).similarity());
+    }
+
+    @Test
+    void refresh_WhenEngineerWasDeleted_ShouldRemoveIt() {
+        // Arrange
+        SimilarityIndex similarityIndex = newIndex(null);
+        List.of(1, 2, 3).forEach(similarityIndex::refresh);
+        engineers.remove(2);
+
+        // Act
+        similarityIndex.refresh(2);
+
+        // Assert
+        assertEquals(2, similarityIndex.stats().engineers());
+        assertThrows(NotFoundException.class, () -> similarityIndex.findSimilar(2, 1));
+        assertEquals(List.of(3), similarityIndex.findSimilar(1, 5).stream()
+                .map(SimilarEngineerDTO::engineerId).toList());
+    }
+
+    @Test
+    void start_WhenSavedIndexIsCurrent_ShouldLoadItWithoutRebuilding() throws Exception {
+        // Arrange
+        Path indexPath = directory.resolve("similarity-index.bin");
+        when(softwareEngineerRepository.findSnapshot()).thenReturn(snapshot(3, 6, 0));
+        SimilarityIndex saved = newIndex(indexPath);
+        List.of(1, 2, 3).forEach(saved::refresh);
+        saved.shutdown();
+
+        // Act
+        SimilarityIndex loaded = newIndex(indexPath);
+        loaded.start();
+
+        // Assert
+        assertTrue(Files.exists(indexPath));
+        assertEquals(3, loaded.stats().engineers());
+        assertEquals(2, loaded.findSimilar(1, 1).getFirst().engineerId());
+        verify(softwareEngineerRepository, never()).streamSkills();
+    }
+
+    @Test
+    void start_WhenSavedIndexIsOutOfDate_ShouldRebuild() throws Exception {
+        // Arrange
+        Path indexPath = directory.resolve("similarity-index.bin");
+        when(softwareEngineerRepository.findSnapshot()).thenReturn(snapshot(3, 6, 0));
+        SimilarityIndex saved = newIndex(indexPath);
+        List.of(1, 2).forEach(saved::refresh);
+        saved.shutdown();
+        when(softwareEngineerRepository.streamSkills()).thenReturn(Stream.of(1, 2, 3).map(SimilarityIndexTest::row));
+
+        // Act
+        SimilarityIndex rebuilt = newIndex(indexPath);
+        rebuilt.start();
+
+        // Assert
+        assertEquals(3, rebuilt.stats().engineers());
+        assertFalse(rebuilt.stats().rebuilding());
+        verify(softwareEngineerRepository, times(1)).streamSkills();
+    }
+
+    @Test
+    void start_WhenEngineerWasReplacedSinceSaving_ShouldRebuild() throws Exception {
+        // Arrange
+        Path indexPath = directory.resolve("similarity-index.bin");
+        SimilarityIndex saved = newIndex(indexPath);
+        List.of(1, 2, 3).forEach(saved::refresh);
+        saved.shutdown();
+        engineers.remove(3);
+        engineer(4, List.of("Python", "Django"));
+        when(softwareEngineerRepository.findSnapshot()).thenReturn(snapshot(3, 7, 0));
+        when(softwareEngineerRepository.streamSkills()).thenReturn(Stream.of(1, 2, 4).map(SimilarityIndexTest::row));
+
+        // Act
+        SimilarityIndex rebuilt = newIndex(indexPath);
+        rebuilt.start();
+
+        // Assert
+        verify(softwareEngineerRepository, times(1)).streamSkills();
+        assertEquals(3, rebuilt.stats().engineers());
+        assertThrows(NotFoundException.class, () -> rebuilt.findSimilar(3, 1));
+    }
+
+    @Test
+    void start_WhenEngineerWasUpdatedSinceSaving_ShouldRebuild() throws Exception {
+        // Arrange
+        Path indexPath = directory.resolve("similarity-index.bin");
+        SimilarityIndex saved = newIndex(indexPath);
+        List.of(1, 2, 3).forEach(saved::refresh);
+        saved.shutdown();
+        when(softwareEngineerRepository.findSnapshot()).thenReturn(snapshot(3, 6, 1));
+        when(softwareEngineerRepository.streamSkills()).thenReturn(Stream.of(1, 2, 3).map(SimilarityIndexTest::row));
+
+        // Act
+        newIndex(indexPath).start();
+
+        // Assert
+        verify(softwareEngineerRepository, times(1)).streamSkills();
+    }
+
+    @Test
+    void checkpoint_ShouldSaveIndexOnlyWhenItChanged() throws Exception {
+        // Arrange
+        Path indexPath = directory.resolve("similarity-index.bin");
+        SimilarityIndex similarityIndex = newIndex(indexPath);
+        List.of(1, 2, 3).forEach(similarityIndex::refresh);
+        similarityIndex.checkpoint();
+        Files.delete(indexPath);
+
+        // Act
+        similarityIndex.checkpoint();
+
+        // Assert
+        assertFalse(Files.exists(indexPath));
+        similarityIndex.refresh(2);
+        similarityIndex.checkpoint();
+        assertTrue(Files.exists(indexPath));
+    }
+
+    @Test
+    void checkpoint_ShouldSaveIndexThatLoadsAfterCrash() {
+        // Arrange
+        Path indexPath = directory.resolve("similarity-index.bin");
+        when(softwareEngineerRepository.findSnapshot()).thenReturn(snapshot(3, 6, 0));
+        SimilarityIndex crashed = newIndex(indexPath);
+        List.of(1, 2, 3).forEach(crashed::refresh);
+
+        // Act
+        crashed.checkpoint();
+        SimilarityIndex loaded = newIndex(indexPath);
+        loaded.start();
+
+        // Assert
+        assertEquals(3, loaded.stats().engineers());
+        verify(softwareEngineerRepository, never()).streamSkills();
+    }
+
+    private SimilarityIndex newIndex(Path indexPath) {
+        return new SimilarityIndex(softwareEngineerRepository, learningPathStore, new HashingEmbeddingModel(64),
+                transactionManager, indexPath, Runnable::run);
+    }
+
+    private void engineer(int id, List<String> techStack) {
+        SoftwareEngineer engineer = new SoftwareEngineer(id, "Engineer " + id, techStack, null);
+        engineer.setVersion(0L);
+        engineers.put(id, engineer);
+    }
+
+    private Map<Integer, String> learningPaths(Collection<Integer> ids) {
+        Map<Integer, String> learningPaths = new HashMap<>();
+        for (Integer id : ids) {
+            SoftwareEngineer engineer = engineers.get(id);
+            if (engineer != null && engineer.getTechStack().contains("Java")) {
+                learningPaths.put(id, "Learn Docker and Terraform next.");
+            }
+        }
+        return learningPaths;
+    }
+
+    private static SoftwareEngineerRepository.TableSnapshot snapshot(long engineers, long idSum, long versionSum) {
+        return new SoftwareEngineerRepository.TableSnapshot() {
+            @Override
+            public long getEngineers() {
+                return engineers;
+            }
+
+            @Override
+            public long getIdSum() {
+                return idSum;
+            }
+
+            @Override
+            public long getVersionSum() {
+                return versionSum;
+            }
+        };
+    }
+
+    private static SoftwareEngineerRepository.SkillRow row(Integer id) {
+        return new SoftwareEngineerRepository.SkillRow() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public Long getVersion() {
+                return 0L;
+            }
+
+            @Override
+            public String[] getSkills() {
+                return new String[0];
+            }
+        };
+    }
+}
@@ -0,0 +1,229 @@
+package com.rvg.service;
+
+import com.rvg.SoftwareEngineer;
+import com.rvg.dto.SkillCoverageDTO;
+import com.rvg.dto.SkillIndexStatsDTO;
+import com.rvg.dto.SkillMatchDTO;
+import com.rvg.errors.BadRequestException;
+import com.rvg.repository.SoftwareEngineerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SkillIndex, built from a mocked repository.
+ */
+@ExtendWith(MockitoExtension.class)
+class SkillIndexTest {
+
+    @Mock
+    private SoftwareEngineerRepository softwareEngineerRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SkillIndex skillIndex;
+
+    @BeforeEach
+    void setUp() {
+        skillIndex = new SkillIndex(softwareEngineerRepository, transactionManager);
+        when(softwareEngineerRepository.streamSkills()).thenReturn(Stream.of(
+                new Row(1, 0L, "java", "kafka", "aws"),
+                new Row(2, 0L, "java", "aws"),
+                new Row(3, 0L, "python", "kafka", "java"),
+                new Row(4, 0L, "go", "gcp"),
+                new Row(5, 0L, "java", "gcp")));
+        skillIndex.rebuild();
+    }
+
+    @Test
+    void match_WithAll_ShouldIntersectIgnoringCase() {
+        // Act
+        SkillMatchDTO result = skillIndex.match(List.of("Java ", "KAFKA"), null, null, 10);
+
+        // Assert
+        assertEquals(2, result.total());
+        assertEquals(List.of(1, 3), result.engineerIds());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void match_WithAllAndAny_ShouldIntersectWithUnion() {
+        // Act
+        SkillMatchDTO result = skillIndex.match(List.of("java"), List.of("aws", "gcp"), null, 10);
+
+        // Assert
+        assertEquals(List.of(1, 2, 5), result.engineerIds());
+    }
+
+    @Test
+    void match_WithUnknownSkill_ShouldReturnNothing() {
+        // Act
+        SkillMatchDTO result = skillIndex.match(List.of("java", "cobol"), null, null, 10);
+
+        // Assert
+        assertEquals(0, result.total());
+        assertTrue(result.engineerIds().isEmpty());
+    }
+
+    @Test
+    void match_ShouldPageAfterCursor() {
+        // Act
+        SkillMatchDTO first = skillIndex.match(List.of("java"), null, null, 2);
+        SkillMatchDTO second = skillIndex.match(List.of("java"), null, first.nextCursor(), 2);
+
+        // Assert
+        assertEquals(4, first.total());
+        assertEquals(List.of(1, 2), first.engineerIds());
+        assertEquals(2, first.nextCursor());
+        assertEquals(List.of(3, 5), second.engineerIds());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void match_WithoutSkills_ShouldThrowBadRequestException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> skillIndex.match(List.of(" "), List.of(), null, 10));
+    }
+
+    @Test
+    void topByCoverage_ShouldRankByNumberOfCoveredSkillsThenId() {
+        // Act
+        List<SkillCoverageDTO> result = skillIndex.topByCoverage(List.of("java", "kafka", "gcp", "aws"), 4);
+
+        // Assert
+        assertEquals(List.of(
+                new SkillCoverageDTO(1, 3),
+                new SkillCoverageDTO(2, 2),
+                new SkillCoverageDTO(3, 2),
+                new SkillCoverageDTO(5, 2)), result);
+    }
+
+    @Test
+    void put_ShouldReplacePreviousSkills() {
+        // Arrange
+        SoftwareEngineer engineer = saved(2, 1L, "go", "kafka");
+
+        // Act
+        skillIndex.put(engineer);
+
+        // Assert
+        assertEquals(List.of(1, 3, 5), skillIndex.match(List.of("java"), null, null, 10).engineerIds());
+        assertEquals(List.of(2, 4), skillIndex.match(List.of("go"), null, null, 10).engineerIds());
+    }
+
+    @Test
+    void put_WithOlderVersion_ShouldBeIgnored() {
+        // Arrange
+        skillIndex.put(saved(2, 3L, "rust"));
+
+        // Act
+        skillIndex.put(saved(2, 2L, "java"));
+
+        // Assert
+        assertEquals(List.of(2), skillIndex.match(List.of("rust"), null, null, 10).engineerIds());
+        assertEquals(List.of(1, 3, 5), skillIndex.match(List.of("java"), null, null, 10).engineerIds());
+    }
+
+    @Test
+    void remove_ShouldDropEngineerAndEmptySkills() {
+        // Act
+        skillIndex.remove(4);
+
+        // Assert
+        SkillIndexStatsDTO stats = skillIndex.stats();
+        assertEquals(4, stats.engineers());
+        assertTrue(stats.skills().stream().noneMatch(skill -> skill.skill().equals("go")));
+        assertEquals(List.of(5), skillIndex.match(List.of("gcp"), null, null, 10).engineerIds());
+    }
+
+    @Test
+    void put_AfterRemove_ShouldNotResurrectEngineer() {
+        // Arrange
+        skillIndex.remove(4);
+
+        // Act
+        skillIndex.put(saved(4, 1L, "go", "gcp"));
+        skillIndex.put(saved(6, 0L, "go"));
+
+        // Assert
+        assertEquals(List.of(6), skillIndex.match(List.of("go"), null, null, 10).engineerIds());
+        assertEquals(List.of(5), skillIndex.match(List.of("gcp"), null, null, 10).engineerIds());
+        assertEquals(5, skillIndex.stats().engineers());
+    }
+
+    @Test
+    void remove_BeforeSaveIsApplied_ShouldIgnoreTheSave() {
+        // Arrange
+        skillIndex.remove(6);
+
+        // Act
+        skillIndex.put(saved(6, 0L, "rust"));
+
+        // Assert
+        assertEquals(0, skillIndex.match(List.of("rust"), null, null, 10).total());
+        assertEquals(5, skillIndex.stats().engineers());
+    }
+
+    @Test
+    void put_WithFewerSkills_ShouldDropSkillsNoLongerHeld() {
+        // Act
+        skillIndex.put(saved(3, 1L, "java"));
+
+        // Assert
+        assertEquals(List.of(1), skillIndex.match(List.of("kafka"), null, null, 10).engineerIds());
+        assertTrue(skillIndex.stats().skills().stream().noneMatch(skill -> skill.skill().equals("python")));
+    }
+
+    @Test
+    void stats_ShouldReportEngineersAndBytesPerSkill() {
+        // Act
+        SkillIndexStatsDTO stats = skillIndex.stats();
+
+        // Assert
+        assertEquals(5, stats.engineers());
+        assertEquals(6, stats.skills().size());
+        SkillIndexStatsDTO.SkillStats java = stats.skills().stream()
+                .filter(skill -> skill.skill().equals("java")).findFirst().orElseThrow();
+        assertEquals(4, java.engineers());
+        assertTrue(java.bitmapBytes() > 0);
+        assertEquals(stats.skills().stream().mapToLong(SkillIndexStatsDTO.SkillStats::bitmapBytes).sum(),
+                stats.bitmapBytes());
+    }
+
+    /* An engineer as returned after its transaction committed, with the skills derived on flush. */
+    private static SoftwareEngineer saved(int id, long version, String... skills) {
+        SoftwareEngineer engineer = new SoftwareEngineer(id, "Engineer " + id, List.of(skills), null);
+        engineer.setVersion(version);
+        ReflectionTestUtils.setField(engineer, "skills", skills);
+        return engineer;
+    }
+
+    private record Row(Integer id, Long version, String... skills) implements SoftwareEngineerRepository.SkillRow {
+
+        @Override
+        public Integer getId() {
+            return id;
+        }
+
+        @Override
+        public Long getVersion() {
+            return version;
+        }
+
+        @Override
+        public String[] getSkills() {
+            return skills;
+        }
+    }
+}
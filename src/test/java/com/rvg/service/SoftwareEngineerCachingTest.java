@@ -0,0 +1,146 @@
+package com.rvg.service;
+
+import com.rvg.EnrichmentStatus;
+import com.rvg.SoftwareEngineer;
+import com.rvg.ai.LearningPathGenerator;
+import com.rvg.config.CacheConfig;
+import com.rvg.repository.LearningPathRepository;
+import com.rvg.repository.SoftwareEngineerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the read-through engineer cache and its invalidation on writes,
+ * using the Caffeine cache configured in application.properties.
+ */
+@SpringBootTest(classes = {CacheConfig.class, SoftwareEngineerService.class, LearningPathStore.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+class SoftwareEngineerCachingTest {
+
+    @Autowired
+    private SoftwareEngineerService softwareEngineerService;
+
+    @Autowired
+    private LearningPathStore learningPathStore;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private SoftwareEngineerRepository softwareEngineerRepository;
+
+    @MockitoBean
+    private LearningPathGenerator learningPathGenerator;
+
+    @MockitoBean
+    private LearningPathPipeline learningPathPipeline;
+
+    @MockitoBean
+    private LearningPathRepository learningPathRepository;
+
+    @MockitoBean
+    private SkillIndex skillIndex;
+
+    @MockitoBean
+    private SimilarityIndex similarityIndex;
+
+    @MockitoBean
+    private ChangeOutbox changeOutbox;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
+    private SoftwareEngineer testEngineer;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.ENGINEERS).clear();
+        testEngineer = new SoftwareEngineer(
+                1,
+                "John Doe",
+                Arrays.asList("Java", "Spring Boot", "PostgreSQL"),
+                null
+        );
+        when(softwareEngineerRepository.findById(1)).thenReturn(Optional.of(testEngineer));
+    }
+
+    @Test
+    void findById_ShouldOnlyHitRepositoryOnce() {
+        // Act
+        SoftwareEngineer first = softwareEngineerService.findById(1);
+        SoftwareEngineer second = softwareEngineerService.findById(1);
+
+        // Assert
+        assertSame(first, second);
+        verify(softwareEngineerRepository, times(1)).findById(1);
+    }
+
+    @Test
+    void update_ShouldEvictCachedEngineer() {
+        // Arrange
+        SoftwareEngineer updatedEngineer = new SoftwareEngineer(
+                1,
+                "John Doe Updated",
+                Arrays.asList("Java"),
+                null
+        );
+        softwareEngineerService.findById(1);
+
+        // Act
+        softwareEngineerService.update(updatedEngineer, null);
+
+        // Assert
+        assertNull(cacheManager.getCache(CacheConfig.ENGINEERS).get(1));
+    }
+
+    @Test
+    void patch_ShouldEvictCachedEngineer() {
+        // Arrange
+        softwareEngineerService.findById(1);
+
+        // Act
+        softwareEngineerService.patch(1, new SoftwareEngineer(null, "John Doe Updated", null, null), null);
+
+        // Assert
+        assertNull(cacheManager.getCache(CacheConfig.ENGINEERS).get(1));
+    }
+
+    @Test
+    void deleteById_ShouldEvictCachedEngineer() {
+        // Arrange
+        when(softwareEngineerRepository.deleteByIdReturningCount(1)).thenReturn(1);
+        softwareEngineerService.findById(1);
+
+        // Act
+        softwareEngineerService.deleteById(1);
+
+        // Assert
+        assertNull(cacheManager.getCache(CacheConfig.ENGINEERS).get(1));
+    }
+
+    @Test
+    void learningPathStore_ShouldEvictCachedEngineer() {
+        // Arrange
+        softwareEngineerService.findById(1);
+
+        // Act
+        learningPathStore.complete(1, "AI-generated learning path");
+
+        // Assert
+        assertNull(cacheManager.getCache(CacheConfig.ENGINEERS).get(1));
+        verify(softwareEngineerRepository, times(1)).updateEnrichmentStatus(1, EnrichmentStatus.COMPLETED);
+    }
+}
@@ -1,7 +1,16 @@
 package com.rvg.service;
 
+import com.rvg.EnrichmentStatus;
 import com.rvg.SoftwareEngineer;
-import com.rvg.ai.AiService;
+import com.rvg.ai.LearningPathGenerator;
+import com.rvg.config.CacheConfig;
+import com.rvg.dto.CursorPage;
+import com.rvg.dto.EngineerVersion;
+import com.rvg.dto.EntityVersion;
+import com.rvg.dto.LearningPathHitDTO;
+import com.rvg.dto.RankedPage;
+import com.rvg.errors.AiUnavailableException;
+import com.rvg.errors.BadRequestException;
 import com.rvg.errors.NotFoundException;
 import com.rvg.repository.SoftwareEngineerRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,13 +19,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.Limit;
+import reactor.core.publisher.Flux;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 /**
@@ -29,7 +45,22 @@ class SoftwareEngineerServiceTest {
     private SoftwareEngineerRepository softwareEngineerRepository;
 
     @Mock
-    private AiService aiService;
+    private LearningPathGenerator learningPathGenerator;
+
+    @Mock
+    private LearningPathPipeline learningPathPipeline;
+
+    @Mock
+    private LearningPathStore learningPathStore;
+
+    @Mock
+    private SkillIndex skillIndex;
+
+    @Mock
+    private SimilarityIndex similarityIndex;
+
+    @Mock
+    private CacheManager cacheManager;
 
     @InjectMocks
     private SoftwareEngineerService softwareEngineerService;
@@ -47,7 +78,7 @@ class SoftwareEngineerServiceTest {
     }
 
     @Test
-    void getAllSoftwareEngineers_ShouldReturnListOfEngineers() {
+    void findPage_WhenMoreEngineersExist_ShouldReturnNextCursor() {
         // Arrange
         SoftwareEngineer engineer2 = new SoftwareEngineer(
                 2,
@@ -55,31 +86,155 @@ class SoftwareEngineerServiceTest {
                 Arrays.asList("Python", "Django", "MongoDB"),
                 null
         );
-        List<SoftwareEngineer> expectedEngineers = Arrays.asList(testEngineer, engineer2);
-        when(softwareEngineerRepository.findAll()).thenReturn(expectedEngineers);
+        SoftwareEngineer engineer3 = new SoftwareEngineer(
+                3,
+                "Alice Johnson",
+                Arrays.asList("JavaScript", "React", "Node.js"),
+                null
+        );
+        when(softwareEngineerRepository.findPage(0, null, null, Limit.of(3)))
+                .thenReturn(Arrays.asList(testEngineer, engineer2, engineer3));
 
         // Act
-        List<SoftwareEngineer> result = softwareEngineerService.getAllSoftwareEngineers();
+        CursorPage<SoftwareEngineer> result = softwareEngineerService.findPage(null, 2, null, null);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(expectedEngineers, result);
-        verify(softwareEngineerRepository, times(1)).findAll();
+        assertEquals(Arrays.asList(testEngineer, engineer2), result.items());
+        assertEquals(2, result.nextCursor());
+        verify(softwareEngineerRepository, times(1)).findPage(0, null, null, Limit.of(3));
     }
 
     @Test
-    void getAllSoftwareEngineers_WhenEmpty_ShouldReturnEmptyList() {
+    void findPage_WhenLastPage_ShouldReturnNullCursor() {
         // Arrange
-        when(softwareEngineerRepository.findAll()).thenReturn(Arrays.asList());
+        when(softwareEngineerRepository.findPage(1, null, null, Limit.of(3))).thenReturn(Arrays.asList());
 
         // Act
-        List<SoftwareEngineer> result = softwareEngineerService.getAllSoftwareEngineers();
+        CursorPage<SoftwareEngineer> result = softwareEngineerService.findPage(1, 2, null, null);
 
         // Assert
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(softwareEngineerRepository, times(1)).findAll();
+        assertTrue(result.items().isEmpty());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void findPage_ShouldNormalizeAndEscapeFilters() {
+        // Arrange
+        when(softwareEngineerRepository.findPage(0, "jo\\_hn%", "spring boot", Limit.of(11)))
+                .thenReturn(List.of(testEngineer));
+
+        // Act
+        CursorPage<SoftwareEngineer> result = softwareEngineerService.findPage(null, 10, " Jo_hn", " Spring Boot ");
+
+        // Assert
+        assertEquals(List.of(testEngineer), result.items());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void findPageVersions_ThenLoadPage_ShouldKeepCursorAndOnlyLoadPageItems() {
+        // Arrange
+        when(softwareEngineerRepository.findPageVersions(0, null, null, Limit.of(2)))
+                .thenReturn(List.of(new EngineerVersion(1, 0L), new EngineerVersion(2, 3L)));
+        when(softwareEngineerRepository.findByIdInOrderById(List.of(1))).thenReturn(List.of(testEngineer));
+
+        // Act
+        CursorPage<EngineerVersion> versions = softwareEngineerService.findPageVersions(null, 1, null, null);
+        CursorPage<SoftwareEngineer> result = softwareEngineerService.loadPage(versions);
+
+        // Assert
+        assertEquals(List.of(new EngineerVersion(1, 0L)), versions.items());
+        assertEquals(1, versions.nextCursor());
+        assertEquals(List.of(testEngineer), result.items());
+        assertEquals(1, result.nextCursor());
+        verify(softwareEngineerRepository, never()).findPage(anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void loadPage_WhenEmpty_ShouldNotQuery() {
+        // Act
+        CursorPage<SoftwareEngineer> result = softwareEngineerService.loadPage(new CursorPage<>(List.of(), null));
+
+        // Assert
+        assertTrue(result.items().isEmpty());
+        verifyNoInteractions(softwareEngineerRepository);
+    }
+
+    @Test
+    void searchBySkills_WithAllOnly_ShouldNormalizeSkills() {
+        // Arrange
+        when(softwareEngineerRepository.findBySkillsIncludingAll(0, new String[]{"java", "spring boot"}, Limit.of(21)))
+                .thenReturn(List.of(testEngineer));
+
+        // Act
+        CursorPage<SoftwareEngineer> result = softwareEngineerService.searchBySkills(
+                List.of(" Java", "Spring Boot ", "JAVA", " "), null, null, 20);
+
+        // Assert
+        assertEquals(List.of(testEngineer), result.items());
+        assertNull(result.nextCursor());
+        verify(softwareEngineerRepository, never()).findBySkillsIncludingAllAndAny(anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void searchBySkills_WithAny_ShouldReturnNextCursor() {
+        // Arrange
+        SoftwareEngineer engineer2 = new SoftwareEngineer(2, "Jane Smith", List.of("AWS"), null);
+        when(softwareEngineerRepository.findBySkillsIncludingAllAndAny(
+                5, new String[0], new String[]{"aws", "gcp"}, Limit.of(2)))
+                .thenReturn(List.of(testEngineer, engineer2));
+
+        // Act
+        CursorPage<SoftwareEngineer> result = softwareEngineerService.searchBySkills(
+                null, List.of("AWS", "GCP"), 5, 1);
+
+        // Assert
+        assertEquals(List.of(testEngineer), result.items());
+        assertEquals(1, result.nextCursor());
+    }
+
+    @Test
+    void searchBySkills_WithoutSkills_ShouldThrowBadRequestException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> softwareEngineerService.searchBySkills(List.of(" "), List.of(), null, 20));
+        verifyNoInteractions(softwareEngineerRepository);
+    }
+
+    @Test
+    void searchLearningPaths_WhenMoreMatchesExist_ShouldReturnNextOffset() {
+        // Arrange
+        LearningPathHitDTO hit1 = new LearningPathHitDTO(1, "John Doe", 0.8, "Learn <mark>Terraform</mark>");
+        LearningPathHitDTO hit2 = new LearningPathHitDTO(2, "Jane Smith", 0.5, "<mark>Terraform</mark> modules");
+        LearningPathHitDTO hit3 = new LearningPathHitDTO(3, "Alice Johnson", 0.2, "<mark>Terraform</mark> basics");
+        when(learningPathStore.search("terraform", 10, 3)).thenReturn(List.of(hit1, hit2, hit3));
+
+        // Act
+        RankedPage<LearningPathHitDTO> result = softwareEngineerService.searchLearningPaths(" terraform ", 10, 2);
+
+        // Assert
+        assertEquals(List.of(hit1, hit2), result.items());
+        assertEquals(12, result.nextOffset());
+    }
+
+    @Test
+    void searchLearningPaths_OnLastPage_ShouldReturnNoNextOffset() {
+        // Arrange
+        when(learningPathStore.search("terraform", 0, 21)).thenReturn(List.of());
+
+        // Act
+        RankedPage<LearningPathHitDTO> result = softwareEngineerService.searchLearningPaths("terraform", null, 20);
+
+        // Assert
+        assertTrue(result.items().isEmpty());
+        assertNull(result.nextOffset());
+    }
+
+    @Test
+    void searchLearningPaths_WithBlankQuery_ShouldThrowBadRequestException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> softwareEngineerService.searchLearningPaths(" ", null, 20));
+        verifyNoInteractions(learningPathStore);
     }
 
     @Test
@@ -127,7 +282,8 @@ class SoftwareEngineerServiceTest {
                 Arrays.asList("JavaScript", "React", "Node.js"),
                 "AI-generated learning path"
         );
-        when(softwareEngineerRepository.save(newEngineer)).thenReturn(savedEngineer);
+        when(learningPathGenerator.generate(newEngineer.getTechStack())).thenReturn("AI-generated learning path");
+        when(learningPathStore.save(newEngineer)).thenReturn(savedEngineer);
 
         // Act
         SoftwareEngineer result = softwareEngineerService.save(newEngineer);
@@ -138,11 +294,219 @@ class SoftwareEngineerServiceTest {
         assertEquals(3, result.getId());
         assertEquals("Alice Johnson", result.getName());
         assertEquals(3, result.getTechStack().size());
-        verify(softwareEngineerRepository, times(1)).save(newEngineer);
+        assertEquals(EnrichmentStatus.COMPLETED, newEngineer.getEnrichmentStatus());
+        verify(learningPathStore, times(1)).save(newEngineer);
+        verify(skillIndex, times(1)).put(savedEngineer);
     }
 
     @Test
-    void update_WhenEngineerExists_ShouldReturnUpdatedEngineer() {
+    void save_WhenAiUnavailable_ShouldSavePendingEngineerWithoutRecommendations() {
+        // Arrange
+        SoftwareEngineer newEngineer = new SoftwareEngineer(
+                null,
+                "Alice Johnson",
+                Arrays.asList("JavaScript", "React", "Node.js"),
+                null
+        );
+        when(learningPathGenerator.generate(newEngineer.getTechStack()))
+                .thenThrow(new AiUnavailableException("AI service unavailable: circuit breaker is open", null));
+        when(learningPathStore.save(newEngineer)).thenReturn(newEngineer);
+
+        // Act
+        SoftwareEngineer result = softwareEngineerService.save(newEngineer);
+
+        // Assert
+        assertEquals(EnrichmentStatus.PENDING, result.getEnrichmentStatus());
+        assertNull(result.getLearningPathRecommendations());
+        verify(learningPathStore, times(1)).save(newEngineer);
+    }
+
+    @Test
+    void findLearningPaths_ShouldLookUpAllEngineersAtOnce() {
+        // Arrange
+        SoftwareEngineer otherEngineer = new SoftwareEngineer(
+                2,
+                "Jane Smith",
+                Arrays.asList("Python"),
+                null
+        );
+        when(learningPathStore.findAll(List.of(1, 2))).thenReturn(Map.of(2, "AI-generated learning path"));
+
+        // Act
+        Map<Integer, String> result = softwareEngineerService.findLearningPaths(List.of(testEngineer, otherEngineer));
+
+        // Assert
+        assertEquals(Map.of(2, "AI-generated learning path"), result);
+        verify(learningPathStore, times(1)).findAll(List.of(1, 2));
+    }
+
+    @Test
+    void saveAsync_ShouldPersistPendingEngineerAndQueueGeneration() {
+        // Arrange
+        SoftwareEngineer newEngineer = new SoftwareEngineer(
+                null,
+                "Alice Johnson",
+                Arrays.asList("JavaScript", "React", "Node.js"),
+                null
+        );
+        SoftwareEngineer savedEngineer = new SoftwareEngineer(
+                3,
+                "Alice Johnson",
+                Arrays.asList("JavaScript", "React", "Node.js"),
+                null
+        );
+        when(learningPathStore.save(newEngineer)).thenReturn(savedEngineer);
+        when(learningPathPipeline.submit(savedEngineer)).thenReturn(true);
+
+        // Act
+        SoftwareEngineer result = softwareEngineerService.saveAsync(newEngineer);
+
+        // Assert
+        assertEquals(3, result.getId());
+        assertEquals(EnrichmentStatus.PENDING, result.getEnrichmentStatus());
+        assertEquals(EnrichmentStatus.PENDING, newEngineer.getEnrichmentStatus());
+        verify(learningPathPipeline, times(1)).submit(savedEngineer);
+        verify(learningPathGenerator, never()).generate(any());
+    }
+
+    @Test
+    void saveAsync_WhenPipelineRejects_ShouldReturnFailedStatus() {
+        // Arrange
+        SoftwareEngineer savedEngineer = new SoftwareEngineer(
+                3,
+                "Alice Johnson",
+                Arrays.asList("JavaScript", "React", "Node.js"),
+                null
+        );
+        when(learningPathStore.save(testEngineer)).thenReturn(savedEngineer);
+        when(learningPathPipeline.submit(savedEngineer)).thenReturn(false);
+
+        // Act
+        SoftwareEngineer result = softwareEngineerService.saveAsync(testEngineer);
+
+        // Assert
+        assertEquals(EnrichmentStatus.FAILED, result.getEnrichmentStatus());
+    }
+
+    @Test
+    void streamLearningPath_ShouldStreamChunksAndStoreAssembledText() {
+        // Arrange
+        when(softwareEngineerRepository.findById(1)).thenReturn(Optional.of(testEngineer));
+        when(learningPathGenerator.stream(testEngineer.getTechStack())).thenReturn(Flux.just("## Next", " Skills"));
+
+        // Act
+        List<String> chunks = softwareEngineerService.streamLearningPath(1).collectList().block();
+
+        // Assert
+        assertEquals(List.of("## Next", " Skills"), chunks);
+        verify(learningPathStore, times(1)).complete(1, "## Next Skills");
+    }
+
+    @Test
+    void streamLearningPath_WhenSubscribedTwice_ShouldStoreEachAssembledTextOnItsOwn() {
+        // Arrange
+        when(softwareEngineerRepository.findById(1)).thenReturn(Optional.of(testEngineer));
+        when(learningPathGenerator.stream(testEngineer.getTechStack())).thenReturn(Flux.just("## Next", " Skills"));
+        Flux<String> stream = softwareEngineerService.streamLearningPath(1);
+
+        // Act
+        stream.collectList().block();
+        stream.collectList().block();
+
+        // Assert
+        verify(learningPathStore, times(2)).complete(1, "## Next Skills");
+    }
+
+    @Test
+    void streamLearningPath_WhenStreamIsEmpty_ShouldMarkEngineerAsFailed() {
+        // Arrange
+        when(softwareEngineerRepository.findById(1)).thenReturn(Optional.of(testEngineer));
+        when(learningPathGenerator.stream(testEngineer.getTechStack())).thenReturn(Flux.just(" ", "\n"));
+
+        // Act
+        softwareEngineerService.streamLearningPath(1).collectList().block();
+
+        // Assert
+        verify(learningPathStore, times(1)).fail(1);
+        verify(learningPathStore, never()).complete(any(), any());
+    }
+
+    @Test
+    void streamLearningPath_WhenGenerationFails_ShouldNotStoreAnything() {
+        // Arrange
+        when(softwareEngineerRepository.findById(1)).thenReturn(Optional.of(testEngineer));
+        when(learningPathGenerator.stream(testEngineer.getTechStack()))
+                .thenReturn(Flux.concat(Flux.just("## Next"), Flux.error(new RuntimeException("Error during AI chat interaction"))));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> softwareEngineerService.streamLearningPath(1).collectList().block());
+        verify(learningPathStore, never()).complete(any(), any());
+    }
+
+    @Test
+    void getEnrichmentStatus_WhenEngineerExists_ShouldReturnStatus() {
+        // Arrange
+        when(softwareEngineerRepository.findEnrichmentStatusById(1)).thenReturn(Optional.of(EnrichmentStatus.COMPLETED));
+
+        // Act
+        EnrichmentStatus result = softwareEngineerService.getEnrichmentStatus(1);
+
+        // Assert
+        assertEquals(EnrichmentStatus.COMPLETED, result);
+    }
+
+    @Test
+    void getEnrichmentStatus_WhenEngineerDoesNotExist_ShouldThrowNotFoundException() {
+        // Arrange
+        when(softwareEngineerRepository.findEnrichmentStatusById(999)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> softwareEngineerService.getEnrichmentStatus(999));
+    }
+
+    @Test
+    void findVersion_WhenEngineerIsCached_ShouldNotQueryRepository() {
+        // Arrange
+        ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfig.ENGINEERS);
+        testEngineer.setVersion(7L);
+        cache.put(1, testEngineer);
+        when(cacheManager.getCache(CacheConfig.ENGINEERS)).thenReturn(cache);
+
+        // Act
+        EntityVersion result = softwareEngineerService.findVersion(1);
+
+        // Assert
+        assertEquals(7L, result.version());
+        verifyNoInteractions(softwareEngineerRepository);
+    }
+
+    @Test
+    void findVersion_WhenEngineerIsNotCached_ShouldReadVersionOnly() {
+        // Arrange
+        EntityVersion version = new EntityVersion(2L, Instant.parse("2026-01-01T00:00:00Z"));
+        when(cacheManager.getCache(CacheConfig.ENGINEERS)).thenReturn(new ConcurrentMapCache(CacheConfig.ENGINEERS));
+        when(softwareEngineerRepository.findVersionById(1)).thenReturn(Optional.of(version));
+
+        // Act
+        EntityVersion result = softwareEngineerService.findVersion(1);
+
+        // Assert
+        assertEquals(version, result);
+        verify(softwareEngineerRepository, never()).findById(any());
+    }
+
+    @Test
+    void findVersion_WhenEngineerDoesNotExist_ShouldThrowNotFoundException() {
+        // Arrange
+        when(cacheManager.getCache(CacheConfig.ENGINEERS)).thenReturn(new ConcurrentMapCache(CacheConfig.ENGINEERS));
+        when(softwareEngineerRepository.findVersionById(999)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> softwareEngineerService.findVersion(999));
+    }
+
+    @Test
+    void update_WhenEngineerExists_ShouldReplaceAllFields() {
         // Arrange
         SoftwareEngineer updatedEngineer = new SoftwareEngineer(
                 1,
@@ -150,19 +514,18 @@ class SoftwareEngineerServiceTest {
                 Arrays.asList("Java", "Spring Boot", "PostgreSQL", "Docker"),
                 null
         );
-        when(softwareEngineerRepository.existsById(1)).thenReturn(true);
-        when(softwareEngineerRepository.save(updatedEngineer)).thenReturn(updatedEngineer);
+        when(learningPathStore.update(1, 3L, updatedEngineer, false)).thenReturn(updatedEngineer);
 
         // Act
-        SoftwareEngineer result = softwareEngineerService.update(updatedEngineer);
+        SoftwareEngineer result = softwareEngineerService.update(updatedEngineer, 3L);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getId());
         assertEquals("John Doe Updated", result.getName());
         assertEquals(4, result.getTechStack().size());
-        verify(softwareEngineerRepository, times(1)).existsById(1);
-        verify(softwareEngineerRepository, times(1)).save(updatedEngineer);
+        verify(learningPathStore, times(1)).update(1, 3L, updatedEngineer, false);
+        verify(skillIndex, times(1)).put(updatedEngineer);
     }
 
     @Test
@@ -174,36 +537,51 @@ class SoftwareEngineerServiceTest {
                 Arrays.asList("Tech"),
                 null
         );
-        when(softwareEngineerRepository.existsById(999)).thenReturn(false);
+        when(learningPathStore.update(999, null, nonExistentEngineer, false))
+                .thenThrow(new NotFoundException("Engineer not found with id: 999"));
 
         // Act & Assert
         NotFoundException exception = assertThrows(
                 NotFoundException.class,
-                () -> softwareEngineerService.update(nonExistentEngineer)
+                () -> softwareEngineerService.update(nonExistentEngineer, null)
         );
         assertEquals("Engineer not found with id: 999", exception.getMessage());
-        verify(softwareEngineerRepository, times(1)).existsById(999);
-        verify(softwareEngineerRepository, never()).save(any());
+        verifyNoInteractions(skillIndex);
+    }
+
+    @Test
+    void patch_ShouldOnlyApplyGivenFields() {
+        // Arrange
+        SoftwareEngineer changes = new SoftwareEngineer(null, "John Doe Updated", null, null);
+        when(learningPathStore.update(1, null, changes, true)).thenReturn(testEngineer);
+
+        // Act
+        SoftwareEngineer result = softwareEngineerService.patch(1, changes, null);
+
+        // Assert
+        assertSame(testEngineer, result);
+        verify(learningPathStore, times(1)).update(1, null, changes, true);
     }
 
     @Test
-    void deleteById_WhenEngineerExists_ShouldDeleteEngineer() {
+    void deleteById_WhenEngineerExists_ShouldDeleteInSingleStatement() {
         // Arrange
-        when(softwareEngineerRepository.existsById(1)).thenReturn(true);
-        doNothing().when(softwareEngineerRepository).deleteById(1);
+        when(learningPathStore.delete(1)).thenReturn(true);
 
         // Act
         softwareEngineerService.deleteById(1);
 
         // Assert
-        verify(softwareEngineerRepository, times(1)).existsById(1);
-        verify(softwareEngineerRepository, times(1)).deleteById(1);
+        verify(learningPathStore, times(1)).delete(1);
+        verify(softwareEngineerRepository, never()).existsById(any());
+        verify(skillIndex, times(1)).remove(1);
+        verify(similarityIndex, times(1)).refresh(1);
     }
 
     @Test
     void deleteById_WhenEngineerDoesNotExist_ShouldThrowNotFoundException() {
         // Arrange
-        when(softwareEngineerRepository.existsById(999)).thenReturn(false);
+        when(learningPathStore.delete(999)).thenReturn(false);
 
         // Act & Assert
         NotFoundException exception = assertThrows(
@@ -211,7 +589,6 @@ class SoftwareEngineerServiceTest {
                 () -> softwareEngineerService.deleteById(999)
         );
         assertEquals("Engineer not found with id: 999", exception.getMessage());
-        verify(softwareEngineerRepository, times(1)).existsById(999);
-        verify(softwareEngineerRepository, never()).deleteById(any());
+        verifyNoInteractions(skillIndex);
     }
 }